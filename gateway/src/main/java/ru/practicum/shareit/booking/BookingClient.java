@@ -1,14 +1,15 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
@@ -16,13 +17,8 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public BookingClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
     public ResponseEntity<Object> create(BookingInputRequest bookingInputRequest, long userId) {
@@ -37,11 +33,26 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllBookings(BookingState state, long userId) {
-        return get("?state=" + state, userId);
+    public ResponseEntity<Object> findAllById(List<Long> bookingIds, long userId) {
+        return get("?ids={ids}", userId, Map.of("ids", joinIds(bookingIds)));
+    }
+
+    public ResponseEntity<Object> getAllBookings(BookingState state, String cursor, int size, long userId) {
+        return get("", userId, state, cursor, size);
+    }
+
+    public ResponseEntity<Object> getAllBookingsOfUserItems(BookingState state, String cursor, int size, long userId) {
+        return get("/owner", userId, state, cursor, size);
     }
 
-    public ResponseEntity<Object> getAllBookingsOfUserItems(BookingState state, long userId) {
-        return get("/owner?state=" + state, userId);
+    private ResponseEntity<Object> get(String path, long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("size", size);
+        if (cursor == null) {
+            return get(path + "?state={state}&size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get(path + "?state={state}&size={size}&cursor={cursor}", userId, parameters);
     }
 }
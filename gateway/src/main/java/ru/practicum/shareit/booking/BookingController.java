@@ -1,18 +1,28 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
 
+import java.util.List;
 
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
     private static final String USER_IDENTIFICATOR_HEADER_NAME = "X-Sharer-User-Id";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_IDS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final BookingClient client;
 
@@ -35,15 +45,25 @@ public class BookingController {
         return client.specificBooking(bookingId, userId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllById(@RequestParam @NotEmpty @Size(max = MAX_IDS) List<Long> ids,
+                                              @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) long userId) {
+        return client.findAllById(ids, userId);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getAllBookingsOfUser(@RequestParam(defaultValue = "ALL") BookingState state,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
                                                        @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) long userId) {
-        return client.getAllBookings(state, userId);
+        return client.getAllBookings(state, cursor, size, userId);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllBookingsOfUserItems(@RequestParam(defaultValue = "ALL") BookingState state,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
                                                             @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) long userId) {
-        return client.getAllBookingsOfUserItems(state, userId);
+        return client.getAllBookingsOfUserItems(state, cursor, size, userId);
     }
 }
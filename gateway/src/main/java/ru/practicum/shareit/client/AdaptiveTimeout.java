@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Таймаут по статистике задержек, как RTO в TCP: сглаженная задержка плюс несколько её отклонений,
+ * в пределах [minTimeout, maxTimeout]. После срабатывания таймаута он удваивается до верхней границы.
+ */
+final class AdaptiveTimeout {
+
+    private final long minNanos;
+    private final long maxNanos;
+    private final int deviations;
+    private final Lock lock = new ReentrantLock();
+
+    private double smoothed = -1;
+    private double variation;
+    private volatile long timeoutNanos;
+
+    AdaptiveTimeout(ServerResilienceProperties.Settings settings) {
+        this.minNanos = settings.minTimeout().toNanos();
+        this.maxNanos = settings.maxTimeout().toNanos();
+        this.deviations = settings.latencyDeviations();
+        this.timeoutNanos = clamp(settings.initialTimeout().toNanos());
+    }
+
+    long nanos() {
+        return timeoutNanos;
+    }
+
+    void recordLatency(long latencyNanos) {
+        lock.lock();
+        try {
+            if (smoothed < 0) {
+                smoothed = latencyNanos;
+                variation = latencyNanos / 2.0;
+            } else {
+                variation = 0.75 * variation + 0.25 * Math.abs(smoothed - latencyNanos);
+                smoothed = 0.875 * smoothed + 0.125 * latencyNanos;
+            }
+            timeoutNanos = clamp((long) (smoothed + deviations * variation));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void recordTimeout() {
+        lock.lock();
+        try {
+            timeoutNanos = clamp(timeoutNanos * 2);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Duration current() {
+        return Duration.ofNanos(timeoutNanos);
+    }
+
+    private long clamp(long nanos) {
+        return Math.max(minNanos, Math.min(maxNanos, nanos));
+    }
+}
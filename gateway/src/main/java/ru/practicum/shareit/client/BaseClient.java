@@ -1,26 +1,39 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade", "content-length");
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected final ServerTransport transport;
+
+    public BaseClient(ServerTransport transport) {
+        this.transport = transport;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    /**
+     * Тело ответа сервера не разбирается: байты и заголовки передаются клиенту как есть,
+     * кроме заголовков, относящихся к соединению со шлюзом.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -29,6 +42,13 @@ public class BaseClient {
         return responseBuilder.build();
     }
 
+    /**
+     * Значение параметра ids для запросов нескольких объектов за одно обращение к серверу.
+     */
+    protected static String joinIds(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
@@ -41,6 +61,17 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * GET с ETag клиента: если данные не изменились, клиент получит 304 без тела.
+     */
+    protected ResponseEntity<Object> getIfNoneMatch(String path, Long userId, @Nullable String ifNoneMatch) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return prepareGatewayResponse(transport.exchange(HttpMethod.GET, path, headers, null, null));
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -53,6 +84,18 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
+    /**
+     * POST с телом, которое не читается в память шлюза: поток клиента передаётся серверу частями по мере чтения.
+     * Такой запрос нельзя повторить, поэтому его стоит отправлять через транспорт массовых операций.
+     */
+    protected ResponseEntity<Object> postStream(ServerTransport bulkTransport, String path, long userId,
+                                                MediaType contentType, InputStream body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        return prepareGatewayResponse(bulkTransport.exchange(HttpMethod.POST, path, headers, null,
+                new InputStreamResource(body)));
+    }
+
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
@@ -90,18 +133,8 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
+        ResponseEntity<byte[]> shareitServerResponse =
+                transport.exchange(method, path, defaultHeaders(userId), parameters, body);
         return prepareGatewayResponse(shareitServerResponse);
     }
 
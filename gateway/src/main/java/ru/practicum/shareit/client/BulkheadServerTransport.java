@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничивает число одновременных обращений одного клиента шлюза к серверу,
+ * чтобы медленные ответы одного API не заняли весь пул соединений.
+ */
+class BulkheadServerTransport implements ServerTransport {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ServerTransport delegate;
+    private final String name;
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Counter rejected;
+
+    BulkheadServerTransport(String name, ServerTransport delegate, ServerBulkheadProperties properties,
+                            MeterRegistry registry) {
+        this.delegate = delegate;
+        this.name = name;
+        this.permits = new Semaphore(properties.maxConcurrentCalls());
+        this.maxWait = properties.maxWait();
+        this.rejected = registry.counter("gateway.bulkhead.rejected", "client", name);
+        registry.gauge("gateway.bulkhead.available", Tags.of("client", name),
+                permits, Semaphore::availablePermits);
+    }
+
+    @Override
+    public ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                           @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        if (!acquire()) {
+            rejected.increment();
+            throw new TooManyRequestsException("Слишком много одновременных запросов к " + name, RETRY_AFTER);
+        }
+        try {
+            return delegate.exchange(method, path, headers, parameters, body);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
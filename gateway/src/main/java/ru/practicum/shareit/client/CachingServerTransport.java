@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Кэширует GET-ответы сервера, в которых есть ETag. Пока запись свежа, ответ отдаётся без обращения к серверу,
+ * устаревшая перепроверяется через If-None-Match: если сервер подтвердил, что данные не изменились, тело берётся
+ * из кэша, а срок свежести продлевается. Клиенту, приславшему актуальный ETag, отвечаем 304 без тела.
+ * Запись через этот шлюз сразу удаляет ответы на GET того же ресурса.
+ */
+class CachingServerTransport implements ServerTransport {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private final ServerTransport delegate;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ServerResponseCache cache;
+
+    CachingServerTransport(String apiPrefix, ServerTransport delegate, ServerResponseCache cache) {
+        this.delegate = delegate;
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(apiPrefix);
+        this.cache = cache;
+    }
+
+    @Override
+    public ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                           @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            ResponseEntity<byte[]> response = delegate.exchange(method, path, headers, parameters, body);
+            cache.evictWrittenBy(uriBuilderFactory.expand(path, parameters == null ? Map.of() : parameters).toString());
+            return response;
+        }
+
+        String key = ServerRequestKey.of(uriBuilderFactory, path, headers, parameters);
+        List<String> clientEtags = headers.getIfNoneMatch();
+        ServerResponseCache.CachedResponse cached = cache.get(key);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            return matches(clientEtags, cached.etag()) ? notModified(cached.etag()) : cached.toResponse();
+        }
+
+        HttpHeaders requestHeaders = headers;
+        if (cached != null) {
+            requestHeaders = new HttpHeaders();
+            requestHeaders.putAll(headers);
+            requestHeaders.setIfNoneMatch(cached.etag());
+        }
+
+        ResponseEntity<byte[]> response = delegate.exchange(method, path, requestHeaders, parameters, body);
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            if (cached == null) {
+                return response;
+            }
+            cache.put(key, cached.refreshedUntil(cache.freshUntil(response.getHeaders(), System.nanoTime())));
+            return matches(clientEtags, cached.etag()) ? notModified(cached.etag()) : cached.toResponse();
+        }
+
+        String etag = response.getHeaders().getETag();
+        if (response.getStatusCode().is2xxSuccessful() && etag != null && response.getBody() != null) {
+            cache.put(key, new ServerResponseCache.CachedResponse(etag, response.getHeaders(), response.getBody(),
+                    cache.freshUntil(response.getHeaders(), System.nanoTime())));
+            return matches(clientEtags, etag) ? notModified(etag) : response;
+        }
+
+        if (cached != null) {
+            cache.evict(key);
+        }
+        return response;
+    }
+
+    private static boolean matches(List<String> clientEtags, String etag) {
+        String expected = stripWeak(etag);
+        for (String clientEtag : clientEtags) {
+            if ("*".equals(clientEtag) || expected.equals(stripWeak(clientEtag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+
+    private static ResponseEntity<byte[]> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Автоматический выключатель по доле неудачных вызовов среди последних N.
+ * Разомкнутый выключатель сразу отклоняет вызовы. По истечении openDuration пропускает несколько пробных:
+ * если все успешны, выключатель замыкается, если хотя бы один неудачен — снова размыкается.
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final String name;
+    private final ServerResilienceProperties.Settings settings;
+    private final MeterRegistry registry;
+    private final Lock lock = new ReentrantLock();
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    CircuitBreaker(String name, ServerResilienceProperties.Settings settings, MeterRegistry registry) {
+        this.name = name;
+        this.settings = settings;
+        this.registry = registry;
+        this.window = new boolean[settings.slidingWindowSize()];
+        registry.gauge("gateway.circuit.state", Tags.of("client", name), this, breaker -> breaker.state.ordinal());
+    }
+
+    /**
+     * Разрешает вызов или бросает ServiceUnavailableException.
+     *
+     * @return true, если вызов пробный
+     */
+    boolean acquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                long remaining = settings.openDuration().toNanos() - (System.nanoTime() - openedAt);
+                if (remaining > 0) {
+                    throw rejection(Duration.ofNanos(remaining));
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight + probeSuccesses >= settings.halfOpenProbes()) {
+                    throw rejection(settings.openDuration());
+                }
+                probesInFlight++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess(boolean probe) {
+        lock.lock();
+        try {
+            if (probe) {
+                if (state != State.HALF_OPEN) {
+                    return;
+                }
+                probesInFlight--;
+                probeSuccesses++;
+                if (probeSuccesses >= settings.halfOpenProbes()) {
+                    transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onFailure(boolean probe) {
+        lock.lock();
+        try {
+            if (probe) {
+                if (state == State.HALF_OPEN) {
+                    transitionTo(State.OPEN);
+                }
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (windowCount >= settings.minimumCalls()
+                        && windowFailures * 100 >= settings.failureRateThreshold() * windowCount) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Вызов прерван не по вине сервера: пробный слот освобождается без влияния на состояние.
+     */
+    void onIgnored(boolean probe) {
+        lock.lock();
+        try {
+            if (probe && state == State.HALF_OPEN) {
+                probesInFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = System.nanoTime();
+            case HALF_OPEN -> {
+                probesInFlight = 0;
+                probeSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCount = 0;
+                windowFailures = 0;
+            }
+        }
+        registry.counter("gateway.circuit.transitions",
+                "client", name, "from", previous.name(), "to", next.name()).increment();
+        log.warn("Выключатель клиента {}: {} -> {}", name, previous, next);
+    }
+
+    private ServiceUnavailableException rejection(Duration retryAfter) {
+        return new ServiceUnavailableException("Обращения к " + name + " временно приостановлены", retryAfter);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.UpstreamTimeoutException;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Выполняет обращение к серверу с адаптивным таймаутом под защитой автоматического выключателя.
+ * Неудачей считаются таймаут, ошибка соединения и ответ 5xx; ответы 4xx — обычный результат.
+ * Вызов выполняется в отдельном виртуальном потоке: при таймауте поток прерывается, а его сокет закрывается.
+ */
+class CircuitBreakerServerTransport implements ServerTransport {
+
+    private final ServerTransport delegate;
+    private final String name;
+    private final CircuitBreaker breaker;
+    private final AdaptiveTimeout timeout;
+    private final ExecutorService executor;
+
+    CircuitBreakerServerTransport(String name, ServerTransport delegate, ServerResilienceProperties.Settings settings,
+                                  ExecutorService executor, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.name = name;
+        this.breaker = new CircuitBreaker(name, settings, registry);
+        this.timeout = new AdaptiveTimeout(settings);
+        this.executor = executor;
+        registry.gauge("gateway.upstream.timeout", Tags.of("client", name), timeout,
+                adaptive -> adaptive.current().toMillis());
+    }
+
+    @Override
+    public ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                           @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        boolean probe = breaker.acquire();
+        long timeoutNanos = timeout.nanos();
+        long start = System.nanoTime();
+        Future<ResponseEntity<byte[]>> call = executor.submit(() -> delegate.exchange(method, path, headers, parameters, body));
+        try {
+            ResponseEntity<byte[]> response = call.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            timeout.recordLatency(System.nanoTime() - start);
+            if (response.getStatusCode().is5xxServerError()) {
+                breaker.onFailure(probe);
+            } else {
+                breaker.onSuccess(probe);
+            }
+            return response;
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            timeout.recordTimeout();
+            breaker.onFailure(probe);
+            throw new UpstreamTimeoutException("Сервер не ответил на запрос {0} {1}{2} за {3} мс",
+                    method, name, path, String.valueOf(TimeUnit.NANOSECONDS.toMillis(timeoutNanos)));
+        } catch (ExecutionException e) {
+            breaker.onFailure(probe);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            breaker.onIgnored(probe);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос к серверу прерван", e);
+        }
+    }
+}
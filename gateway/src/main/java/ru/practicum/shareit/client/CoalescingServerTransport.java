@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Объединяет одинаковые одновременные GET-запросы: к серверу уходит только первый,
+ * остальные получают его ответ. Ключ включает путь, параметры, пользователя и If-None-Match.
+ */
+class CoalescingServerTransport implements ServerTransport {
+
+    private final ServerTransport delegate;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final RequestCoalescer coalescer;
+
+    CoalescingServerTransport(String apiPrefix, ServerTransport delegate, RequestCoalescer coalescer) {
+        this.delegate = delegate;
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(apiPrefix);
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                           @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, headers, parameters, body);
+        }
+
+        String key = ServerRequestKey.of(uriBuilderFactory, path, headers, parameters)
+                + "|" + headers.getIfNoneMatch();
+        CompletableFuture<ResponseEntity<byte[]>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<byte[]>> existing = coalescer.join(key, call);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            ResponseEntity<byte[]> response = delegate.exchange(method, path, headers, parameters, body);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            coalescer.complete(key, call);
+        }
+    }
+
+    private static ResponseEntity<byte[]> await(CompletableFuture<ResponseEntity<byte[]>> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
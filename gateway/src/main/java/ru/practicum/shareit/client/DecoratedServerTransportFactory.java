@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import java.util.function.Function;
+
+/**
+ * Транспорт к каждому узлу сервера создаётся по базовому адресу узла с путём API клиента,
+ * поверх узлов — балансировка, поверх балансировки — обёртки из {@link ServerTransportDecorators}.
+ */
+class DecoratedServerTransportFactory implements ServerTransportFactory {
+
+    private final ServerNodes nodes;
+    private final ServerTransportDecorators decorators;
+    private final Function<String, ServerTransport> transport;
+    private final Function<String, ServerTransport> bulkTransport;
+
+    DecoratedServerTransportFactory(ServerNodes nodes, ServerTransportDecorators decorators,
+                                    Function<String, ServerTransport> transport,
+                                    Function<String, ServerTransport> bulkTransport) {
+        this.nodes = nodes;
+        this.decorators = decorators;
+        this.transport = transport;
+        this.bulkTransport = bulkTransport;
+    }
+
+    @Override
+    public ServerTransport create(String apiPrefix) {
+        return decorators.decorate(apiPrefix, nodes.balance(apiPrefix, nodeUrl -> transport.apply(nodeUrl + apiPrefix)));
+    }
+
+    @Override
+    public ServerTransport createBulk(String apiPrefix) {
+        return decorators.decorateBulk(apiPrefix, nodes.balance(apiPrefix, nodeUrl -> bulkTransport.apply(nodeUrl + apiPrefix)));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Перцентиль задержки по последним ответам сервера. Значение пересчитывается не на каждый ответ,
+ * а раз в несколько замеров, чтобы запись задержки оставалась дешёвой.
+ */
+final class LatencyPercentile {
+
+    private static final int WINDOW = 512;
+    private static final int RECALCULATE_EVERY = 32;
+
+    private final double percentile;
+    private final int minSamples;
+    private final long[] samples = new long[WINDOW];
+    private final Lock lock = new ReentrantLock();
+
+    private int next;
+    private int count;
+    private int sinceRecalculation;
+    private volatile long valueNanos = -1;
+
+    LatencyPercentile(double percentile, int minSamples) {
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, WINDOW);
+    }
+
+    /**
+     * @return перцентиль в наносекундах или -1, пока замеров недостаточно
+     */
+    long nanos() {
+        return valueNanos;
+    }
+
+    void record(long latencyNanos) {
+        lock.lock();
+        try {
+            samples[next] = latencyNanos;
+            next = (next + 1) % WINDOW;
+            count = Math.min(count + 1, WINDOW);
+            if (count >= minSamples && (++sinceRecalculation >= RECALCULATE_EVERY || valueNanos < 0)) {
+                sinceRecalculation = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100 * count) - 1;
+                valueNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
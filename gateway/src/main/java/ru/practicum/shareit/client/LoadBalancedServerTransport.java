@@ -0,0 +1,194 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Распределяет запросы клиента шлюза между узлами сервера. GET, завершившийся ошибкой соединения,
+ * один раз повторяется на другом узле: GET не меняет данных, поэтому повтор безопасен.
+ * <p>
+ * По той же причине медленный GET дублируется на другой узел, если ответа нет дольше заданного перцентиля
+ * задержки клиента: клиент получает первый пришедший ответ, а второй запрос отменяется.
+ * Дублируется не больше budgetPercent процентов GET-запросов, чтобы при общей деградации сервера
+ * дублирование не удвоило на него нагрузку.
+ */
+class LoadBalancedServerTransport implements ServerTransport {
+
+    private static final Set<Integer> UNAVAILABLE_STATUSES = Set.of(502, 503, 504);
+    private static final long HEDGE_COST = 100;
+    private static final long MAX_HEDGE_CREDITS = 10 * HEDGE_COST;
+
+    private final ServerNodes nodes;
+    private final Map<ServerNode, ServerTransport> transports;
+    @Nullable
+    private final LatencyPercentile hedgeDelay;
+    private final long minHedgeDelayNanos;
+    private final int hedgeBudgetPercent;
+    private final AtomicLong hedgeCredits = new AtomicLong();
+    private final Counter hedgeable;
+    private final Counter hedged;
+    private final Counter hedgeWins;
+
+    LoadBalancedServerTransport(String name, ServerNodes nodes, Map<ServerNode, ServerTransport> transports,
+                                ServerHedgingProperties hedging, MeterRegistry registry) {
+        this.nodes = nodes;
+        this.transports = transports;
+        this.hedgeDelay = hedging.enabled() ? new LatencyPercentile(hedging.percentile(), hedging.minSamples()) : null;
+        this.minHedgeDelayNanos = hedging.minDelay().toNanos();
+        this.hedgeBudgetPercent = hedging.budgetPercent();
+        Tags tags = Tags.of("client", name);
+        this.hedgeable = Counter.builder("gateway.hedge.requests")
+                .description("GET-запросы, которые можно дублировать на другой узел")
+                .tags(tags)
+                .register(registry);
+        this.hedged = Counter.builder("gateway.hedge.sent")
+                .description("GET-запросы, продублированные на другой узел")
+                .tags(tags)
+                .register(registry);
+        this.hedgeWins = Counter.builder("gateway.hedge.wins")
+                .description("Дублирующие запросы, ответ на которые пришёл раньше исходного")
+                .tags(tags)
+                .register(registry);
+        if (hedgeDelay != null) {
+            registry.gauge("gateway.hedge.delay", tags, hedgeDelay,
+                    delay -> TimeUnit.NANOSECONDS.toMillis(Math.max(delay.nanos(), minHedgeDelayNanos)));
+        }
+    }
+
+    @Override
+    public ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                           @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        String userId = headers.getFirst(ServerRequestKey.USER_HEADER);
+        ServerNode node = nodes.choose(userId, null);
+        if (method == HttpMethod.GET && hedgeDelay != null) {
+            return sendHedged(userId, node, path, headers, parameters);
+        }
+        return sendWithRetry(userId, node, method, path, headers, parameters, body);
+    }
+
+    private ResponseEntity<byte[]> sendHedged(@Nullable String userId, ServerNode node, String path,
+                                              HttpHeaders headers, @Nullable Map<String, Object> parameters) {
+        hedgeable.increment();
+        hedgeCredits.updateAndGet(credits -> Math.min(MAX_HEDGE_CREDITS, credits + hedgeBudgetPercent));
+        ExecutorCompletionService<ResponseEntity<byte[]>> attempts = new ExecutorCompletionService<>(nodes.executor());
+        Future<ResponseEntity<byte[]>> first =
+                attempts.submit(() -> sendWithRetry(userId, node, HttpMethod.GET, path, headers, parameters, null));
+        Future<ResponseEntity<byte[]>> hedge = null;
+        try {
+            long delay = hedgeDelay.nanos();
+            Future<ResponseEntity<byte[]>> done = delay < 0
+                    ? attempts.take()
+                    : attempts.poll(Math.max(delay, minHedgeDelayNanos), TimeUnit.NANOSECONDS);
+            int pending = 1;
+            if (done == null) {
+                ServerNode other = nodes.choose(userId, node);
+                if (other != node && tryAcquireHedge()) {
+                    hedged.increment();
+                    hedge = attempts.submit(() -> send(other, HttpMethod.GET, path, headers, parameters, null));
+                    pending++;
+                }
+                done = attempts.take();
+            }
+            pending--;
+            // Ошибка одной из попыток не важна, пока другая ещё может ответить
+            while (done.state() == Future.State.FAILED && pending > 0) {
+                done = attempts.take();
+                pending--;
+            }
+            if (done == hedge && done.state() == Future.State.SUCCESS) {
+                hedgeWins.increment();
+            }
+            if (done.state() == Future.State.FAILED) {
+                if (done.exceptionNow() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(done.exceptionNow());
+            }
+            return done.resultNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос к серверу прерван", e);
+        } finally {
+            first.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private boolean tryAcquireHedge() {
+        long credits = hedgeCredits.get();
+        while (credits >= HEDGE_COST) {
+            if (hedgeCredits.compareAndSet(credits, credits - HEDGE_COST)) {
+                return true;
+            }
+            credits = hedgeCredits.get();
+        }
+        return false;
+    }
+
+    private ResponseEntity<byte[]> sendWithRetry(@Nullable String userId, ServerNode node, HttpMethod method,
+                                                 String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        try {
+            return send(node, method, path, headers, parameters, body);
+        } catch (RuntimeException e) {
+            if (method != HttpMethod.GET || !isConnectionFailure(e) || Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            ServerNode other = nodes.choose(userId, node);
+            if (other == node) {
+                throw e;
+            }
+            return send(other, method, path, headers, parameters, body);
+        }
+    }
+
+    private ResponseEntity<byte[]> send(ServerNode node, HttpMethod method, String path, HttpHeaders headers,
+                                        @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        node.begin();
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<byte[]> response = transports.get(node).exchange(method, path, headers, parameters, body);
+            if (UNAVAILABLE_STATUSES.contains(response.getStatusCode().value())) {
+                nodes.onFailure(node);
+            } else {
+                nodes.onSuccess(node);
+                if (method == HttpMethod.GET && hedgeDelay != null) {
+                    hedgeDelay.record(System.nanoTime() - start);
+                }
+            }
+            return response;
+        } catch (RuntimeException e) {
+            // Отменённая попытка прерывается вместе с сокетом, узел в этом не виноват
+            if (isConnectionFailure(e) && !Thread.currentThread().isInterrupted()) {
+                nodes.onFailure(node);
+            }
+            throw e;
+        } finally {
+            node.end();
+        }
+    }
+
+    private static boolean isConnectionFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Общий для всех клиентов шлюза реестр выполняющихся GET-запросов к серверу.
+ * Одинаковые одновременные запросы ждут ответа на первый из них вместо отдельного обращения к серверу.
+ */
+public class RequestCoalescer {
+
+    private final Map<String, CompletableFuture<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public RequestCoalescer(MeterRegistry registry) {
+        this.coalesced = Counter.builder("gateway.requests.coalesced")
+                .description("Запросы, которые дождались ответа на такой же уже выполняющийся запрос")
+                .register(registry);
+        registry.gauge("gateway.requests.in.flight", inFlight, Map::size);
+    }
+
+    public ServerTransport wrap(String apiPrefix, ServerTransport transport) {
+        return new CoalescingServerTransport(apiPrefix, transport, this);
+    }
+
+    CompletableFuture<ResponseEntity<byte[]>> join(String key, CompletableFuture<ResponseEntity<byte[]>> call) {
+        CompletableFuture<ResponseEntity<byte[]>> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+        }
+        return existing;
+    }
+
+    void complete(String key, CompletableFuture<ResponseEntity<byte[]>> call) {
+        inFlight.remove(key, call);
+    }
+}
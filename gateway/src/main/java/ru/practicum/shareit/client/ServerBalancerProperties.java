@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Балансировка запросов между несколькими экземплярами сервера из shareit-server.url.
+ *
+ * @param strategy          power-of-two (из двух случайных узлов меньше занятый) или least-outstanding
+ * @param sticky            направлять запросы одного X-Sharer-User-Id на один и тот же узел, пока он доступен
+ * @param failuresToEject   сколько подряд ошибок соединения или ответов 502/503/504 выводят узел из балансировки
+ * @param ejectionDuration  на сколько узел выводится из балансировки
+ * @param healthPath        путь проверки состояния узла
+ * @param healthInterval    как часто проверять узлы; проверка выполняется, только если узлов больше одного
+ * @param healthTimeout     таймаут проверки
+ */
+@ConfigurationProperties("shareit-server.balancer")
+public record ServerBalancerProperties(
+        @DefaultValue("power-of-two") String strategy,
+        @DefaultValue("false") boolean sticky,
+        @DefaultValue("3") int failuresToEject,
+        @DefaultValue("30s") Duration ejectionDuration,
+        @DefaultValue("/actuator/health") String healthPath,
+        @DefaultValue("5s") Duration healthInterval,
+        @DefaultValue("1s") Duration healthTimeout) {
+}
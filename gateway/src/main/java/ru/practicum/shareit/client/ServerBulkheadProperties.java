@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Ограничение одновременных обращений к серверу от каждого клиента шлюза (UserClient, ItemClient и т.д.).
+ *
+ * @param enabled            включено ли ограничение
+ * @param maxConcurrentCalls сколько запросов одного клиента может одновременно выполняться на сервере
+ * @param maxWait            сколько запрос ждёт освобождения места, прежде чем получить 429
+ */
+@ConfigurationProperties("shareit-server.bulkhead")
+public record ServerBulkheadProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50") int maxConcurrentCalls,
+        @DefaultValue("100ms") Duration maxWait) {
+}
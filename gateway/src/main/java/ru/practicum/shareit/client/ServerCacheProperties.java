@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша ответов сервера с ETag.
+ *
+ * @param enabled           включён ли кэш
+ * @param maxSize           предельный суммарный размер закэшированных тел ответов
+ * @param expireAfterAccess через сколько без обращений запись удаляется из кэша
+ * @param freshFor          сколько запись отдаётся без перепроверки на сервере, если тот не прислал Cache-Control: max-age
+ */
+@ConfigurationProperties("shareit-server.cache")
+public record ServerCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("16MB") DataSize maxSize,
+        @DefaultValue("10m") Duration expireAfterAccess,
+        @DefaultValue("2s") Duration freshFor) {
+}
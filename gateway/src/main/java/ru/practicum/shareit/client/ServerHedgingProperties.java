@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Дублирование медленных GET-запросов на другой узел сервера. Работает, только если узлов больше одного.
+ *
+ * @param enabled       включено ли дублирование
+ * @param percentile    перцентиль задержки клиента, после которой запрос дублируется
+ * @param minDelay      не дублировать раньше этой задержки, даже если сервер обычно отвечает быстрее
+ * @param minSamples    сколько ответов нужно накопить, прежде чем начать дублировать
+ * @param budgetPercent не больше скольких процентов GET-запросов клиента можно дублировать
+ */
+@ConfigurationProperties("shareit-server.hedging")
+public record ServerHedgingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("95") double percentile,
+        @DefaultValue("10ms") Duration minDelay,
+        @DefaultValue("50") int minSamples,
+        @DefaultValue("10") int budgetPercent) {
+}
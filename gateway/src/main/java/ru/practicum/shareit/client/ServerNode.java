@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Экземпляр сервера: число выполняющихся на нём запросов и признаки доступности.
+ * Узел недоступен, если не прошёл проверку состояния или выведен из балансировки после серии ошибок.
+ */
+final class ServerNode {
+
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntil = System.nanoTime();
+    private volatile boolean healthy = true;
+
+    ServerNode(String url) {
+        this.url = url;
+    }
+
+    String url() {
+        return url;
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    boolean isAvailable(long nowNanos) {
+        return healthy && nowNanos - ejectedUntil >= 0;
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * @return true, если узел только что выведен из балансировки
+     */
+    boolean onFailure(int failuresToEject, long ejectionNanos) {
+        if (consecutiveFailures.incrementAndGet() < failuresToEject) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntil = System.nanoTime() + ejectionNanos;
+        return true;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+}
@@ -0,0 +1,230 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Экземпляры сервера, между которыми шлюз распределяет запросы, общие для всех клиентов шлюза.
+ * Узел выводится из балансировки после серии ошибок и по результатам периодической проверки состояния.
+ * Если недоступны все узлы, запросы распределяются между всеми: лучше попытаться, чем отказать сразу.
+ */
+@Slf4j
+public class ServerNodes implements AutoCloseable {
+
+    private static final String LEAST_OUTSTANDING = "least-outstanding";
+
+    private final List<ServerNode> nodes;
+    private final ServerBalancerProperties properties;
+    private final ServerHedgingProperties hedging;
+    private final MeterRegistry registry;
+    @Nullable
+    private final ScheduledExecutorService healthChecker;
+    @Nullable
+    private final ExecutorService attemptExecutor;
+    @Nullable
+    private final HttpClient healthClient;
+
+    public ServerNodes(List<String> urls, ServerBalancerProperties properties, ServerHedgingProperties hedging,
+                       MeterRegistry registry) {
+        this.nodes = urls.stream()
+                .map(String::strip)
+                .filter(url -> !url.isEmpty())
+                .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+                .distinct()
+                .map(ServerNode::new)
+                .toList();
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один адрес сервера в shareit-server.url");
+        }
+        this.properties = properties;
+        this.hedging = hedging;
+        this.registry = registry;
+        for (ServerNode node : nodes) {
+            Tags tags = Tags.of("node", node.url());
+            registry.gauge("gateway.server.node.outstanding", tags, node, ServerNode::outstanding);
+            registry.gauge("gateway.server.node.available", tags, node,
+                    server -> server.isAvailable(System.nanoTime()) ? 1 : 0);
+        }
+
+        if (nodes.size() > 1) {
+            this.healthClient = HttpClient.newBuilder().connectTimeout(properties.healthTimeout()).build();
+            this.healthChecker = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("shareit-server-health").factory());
+            long interval = properties.healthInterval().toMillis();
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+            this.attemptExecutor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("shareit-server-attempt-", 0).factory());
+        } else {
+            this.healthClient = null;
+            this.healthChecker = null;
+            this.attemptExecutor = null;
+        }
+    }
+
+    /**
+     * Транспорт клиента шлюза: для одного узла — транспорт этого узла, для нескольких — балансирующий.
+     *
+     * @param apiPrefix        префикс API клиента, по нему именуются метрики
+     * @param transportForNode создаёт транспорт к конкретному узлу по его адресу
+     */
+    public ServerTransport balance(String apiPrefix, Function<String, ServerTransport> transportForNode) {
+        if (nodes.size() == 1) {
+            return transportForNode.apply(nodes.get(0).url());
+        }
+        Map<ServerNode, ServerTransport> transports = new LinkedHashMap<>();
+        for (ServerNode node : nodes) {
+            transports.put(node, transportForNode.apply(node.url()));
+        }
+        return new LoadBalancedServerTransport(ServerTransportDecorators.clientName(apiPrefix), this, transports,
+                hedging, registry);
+    }
+
+    /**
+     * Исполнитель параллельных попыток запроса; есть, только если узлов больше одного.
+     */
+    ExecutorService executor() {
+        return attemptExecutor;
+    }
+
+    ServerNode choose(@Nullable String userId, @Nullable ServerNode exclude) {
+        long now = System.nanoTime();
+        List<ServerNode> candidates = new ArrayList<>(nodes.size());
+        for (ServerNode node : nodes) {
+            if (node != exclude && node.isAvailable(now)) {
+                candidates.add(node);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (ServerNode node : nodes) {
+                if (node != exclude) {
+                    candidates.add(node);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return nodes.get(0);
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        if (properties.sticky() && userId != null) {
+            return rendezvous(candidates, userId);
+        }
+        return LEAST_OUTSTANDING.equals(properties.strategy())
+                ? leastOutstanding(candidates)
+                : powerOfTwoChoices(candidates);
+    }
+
+    void onSuccess(ServerNode node) {
+        node.onSuccess();
+    }
+
+    void onFailure(ServerNode node) {
+        if (node.onFailure(properties.failuresToEject(), properties.ejectionDuration().toNanos())) {
+            registry.counter("gateway.server.node.ejections", "node", node.url()).increment();
+            log.warn("Узел {} выведен из балансировки на {}", node.url(), properties.ejectionDuration());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        if (attemptExecutor != null) {
+            attemptExecutor.shutdownNow();
+        }
+    }
+
+    private void checkHealth() {
+        for (ServerNode node : nodes) {
+            boolean healthy;
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(node.url() + properties.healthPath()))
+                        .timeout(properties.healthTimeout())
+                        .GET()
+                        .build();
+                healthy = healthClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                healthy = false;
+            }
+            if (healthy != node.isHealthy()) {
+                log.warn("Узел {} {}", node.url(), healthy ? "снова доступен" : "не прошёл проверку состояния");
+            }
+            node.setHealthy(healthy);
+        }
+    }
+
+    /**
+     * Из двух случайных узлов выбирается тот, на котором меньше выполняющихся запросов.
+     */
+    private static ServerNode powerOfTwoChoices(List<ServerNode> candidates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerNode a = candidates.get(first);
+        ServerNode b = candidates.get(second);
+        return b.outstanding() < a.outstanding() ? b : a;
+    }
+
+    private static ServerNode leastOutstanding(List<ServerNode> candidates) {
+        int start = ThreadLocalRandom.current().nextInt(candidates.size());
+        ServerNode best = candidates.get(start);
+        for (int i = 1; i < candidates.size(); i++) {
+            ServerNode node = candidates.get((start + i) % candidates.size());
+            if (node.outstanding() < best.outstanding()) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Rendezvous-хеширование: пользователь остаётся на своём узле, пока тот доступен,
+     * а при выходе узла из балансировки переезжают только его пользователи.
+     */
+    private static ServerNode rendezvous(List<ServerNode> candidates, String userId) {
+        ServerNode best = null;
+        long bestScore = Long.MIN_VALUE;
+        for (ServerNode node : candidates) {
+            long score = mix(userId.hashCode() * 31L + node.url().hashCode());
+            if (best == null || score > bestScore) {
+                best = node;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
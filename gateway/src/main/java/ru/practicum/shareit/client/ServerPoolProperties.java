@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула соединений шлюза с сервером.
+ *
+ * @param maxTotal          максимум соединений в пуле
+ * @param maxPerRoute       максимум соединений на один адрес сервера
+ * @param connectTimeout    таймаут установки соединения
+ * @param responseTimeout   таймаут ожидания ответа сервера
+ * @param acquireTimeout    сколько запрос ждёт свободного соединения, прежде чем завершиться ошибкой
+ * @param keepAlive         сколько держать соединение открытым, если сервер не прислал Keep-Alive
+ * @param validateAfterIdle через сколько простоя соединение проверяется перед повторным использованием
+ * @param evictIdleAfter    через сколько простоя соединение закрывается фоновым потоком
+ * @param bulkResponseTimeout таймаут ожидания ответа на массовую операцию: сервер отвечает, только обработав весь поток
+ */
+@ConfigurationProperties("shareit-server.pool")
+public record ServerPoolProperties(
+        @DefaultValue("200") int maxTotal,
+        @DefaultValue("100") int maxPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("10s") Duration responseTimeout,
+        @DefaultValue("1s") Duration acquireTimeout,
+        @DefaultValue("30s") Duration keepAlive,
+        @DefaultValue("2s") Duration validateAfterIdle,
+        @DefaultValue("60s") Duration evictIdleAfter,
+        @DefaultValue("5m") Duration bulkResponseTimeout) {
+}
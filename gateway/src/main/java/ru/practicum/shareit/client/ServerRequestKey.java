@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.UriBuilderFactory;
+
+import java.util.Map;
+
+/**
+ * Ключ запроса к серверу: полный URI с подставленными параметрами и пользователь, от имени которого он выполняется.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ServerRequestKey {
+
+    static final String USER_HEADER = "X-Sharer-User-Id";
+    static final char USER_SEPARATOR = '#';
+
+    static String of(UriBuilderFactory uriBuilderFactory, String path, HttpHeaders headers,
+                     @Nullable Map<String, Object> parameters) {
+        String uri = uriBuilderFactory.expand(path, parameters == null ? Map.of() : parameters).toString();
+        String userId = headers.getFirst(USER_HEADER);
+        return userId == null ? uri : uri + USER_SEPARATOR + userId;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Настройки автоматического выключателя и адаптивного таймаута для обращений клиентов шлюза к серверу.
+ *
+ * @param enabled  включена ли защита
+ * @param defaults настройки для клиентов, не перечисленных в clients
+ * @param clients  настройки по клиентам: users, items, bookings, requests. Заменяют defaults целиком
+ */
+@ConfigurationProperties("shareit-server.resilience")
+public record ServerResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Settings defaults,
+        Map<String, Settings> clients) {
+
+    public ServerResilienceProperties {
+        clients = clients == null ? Map.of() : Map.copyOf(clients);
+    }
+
+    public Settings forClient(String name) {
+        return clients.getOrDefault(name, defaults);
+    }
+
+    /**
+     * @param failureRateThreshold процент неудачных вызовов в окне, при котором выключатель размыкается
+     * @param slidingWindowSize    сколько последних вызовов учитывается
+     * @param minimumCalls         сколько вызовов должно накопиться в окне, прежде чем считать процент
+     * @param openDuration         сколько выключатель остаётся разомкнутым до пробных вызовов
+     * @param halfOpenProbes       сколько пробных вызовов должно пройти успешно, чтобы замкнуть выключатель
+     * @param initialTimeout       таймаут, пока нет статистики задержек
+     * @param minTimeout           нижняя граница адаптивного таймаута
+     * @param maxTimeout           верхняя граница адаптивного таймаута
+     * @param latencyDeviations    сколько отклонений задержки добавляется к её среднему при расчёте таймаута
+     */
+    public record Settings(
+            @DefaultValue("50") int failureRateThreshold,
+            @DefaultValue("20") int slidingWindowSize,
+            @DefaultValue("10") int minimumCalls,
+            @DefaultValue("10s") Duration openDuration,
+            @DefaultValue("3") int halfOpenProbes,
+            @DefaultValue("3s") Duration initialTimeout,
+            @DefaultValue("500ms") Duration minTimeout,
+            @DefaultValue("10s") Duration maxTimeout,
+            @DefaultValue("4") int latencyDeviations) {
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+/**
+ * Общий для всех клиентов шлюза кэш ответов сервера, снабжённых ETag. Размер ограничен суммарным объёмом тел.
+ */
+public class ServerResponseCache {
+
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final Cache<String, CachedResponse> cache;
+    private final Duration freshFor;
+
+    public ServerResponseCache(ServerCacheProperties properties) {
+        this.freshFor = properties.freshFor();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length + ENTRY_OVERHEAD)
+                .expireAfterAccess(properties.expireAfterAccess())
+                .recordStats()
+                .build();
+    }
+
+    public ServerTransport wrap(String apiPrefix, ServerTransport transport) {
+        return new CachingServerTransport(apiPrefix, transport, this);
+    }
+
+    public Cache<String, CachedResponse> nativeCache() {
+        return cache;
+    }
+
+    CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    void evict(String key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Удаляет ответы на GET того же ресурса и ресурсов, в которые вложен адрес записи:
+     * после PATCH /items/1 или POST /items/1/comment ответ на GET /items/1 перепроверяется на сервере.
+     */
+    void evictWrittenBy(String writeUri) {
+        cache.asMap().keySet().removeIf(key -> {
+            int userSeparator = key.indexOf(ServerRequestKey.USER_SEPARATOR);
+            String uri = userSeparator < 0 ? key : key.substring(0, userSeparator);
+            return writeUri.equals(uri) || writeUri.startsWith(uri + "/") || writeUri.startsWith(uri + "?");
+        });
+    }
+
+    /**
+     * Срок свежести берётся из Cache-Control ответа сервера, а без него из shareit-server.cache.fresh-for.
+     * no-cache означает перепроверку при каждом обращении.
+     */
+    long freshUntil(HttpHeaders responseHeaders, long now) {
+        String cacheControl = responseHeaders.getCacheControl();
+        if (cacheControl == null) {
+            return now + freshFor.toNanos();
+        }
+        long maxAgeSeconds = -1;
+        for (String directive : cacheControl.split(",")) {
+            String value = directive.trim().toLowerCase();
+            if (value.equals("no-cache")) {
+                return now;
+            }
+            if (value.startsWith("max-age=")) {
+                try {
+                    maxAgeSeconds = Long.parseLong(value.substring("max-age=".length()));
+                } catch (NumberFormatException ignored) {
+                    // Некорректный max-age не мешает остальным директивам
+                }
+            }
+        }
+        return maxAgeSeconds < 0 ? now + freshFor.toNanos() : now + Duration.ofSeconds(maxAgeSeconds).toNanos();
+    }
+
+    public record CachedResponse(String etag, HttpHeaders headers, byte[] body, long freshUntil) {
+
+        boolean isFresh(long now) {
+            return now - freshUntil < 0;
+        }
+
+        CachedResponse refreshedUntil(long freshUntil) {
+            return new CachedResponse(etag, headers, body, freshUntil);
+        }
+
+        ResponseEntity<byte[]> toResponse() {
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+public interface ServerTransport {
+
+    /**
+     * Отправляет запрос на сервер и возвращает ответ как есть: статус, заголовки и тело в виде байтов,
+     * в том числе для ответов с ошибкой.
+     */
+    ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                    @Nullable Map<String, Object> parameters, @Nullable Object body);
+}
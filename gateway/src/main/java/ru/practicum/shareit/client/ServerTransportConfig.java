@@ -0,0 +1,149 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({ServerPoolProperties.class, ServerCacheProperties.class, ServerBulkheadProperties.class,
+        ServerResilienceProperties.class, ServerBalancerProperties.class, ServerHedgingProperties.class})
+public class ServerTransportConfig {
+
+    private static final String CACHE_ENABLED_PROPERTY = "shareit-server.cache.enabled";
+    private static final String POOL_NAME = "shareit-server";
+    private static final String CACHE_NAME = "shareit-server-responses";
+
+    @Bean
+    @ConditionalOnProperty(name = CACHE_ENABLED_PROPERTY, havingValue = "true", matchIfMissing = true)
+    public ServerResponseCache serverResponseCache(ServerCacheProperties properties) {
+        return new ServerResponseCache(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = CACHE_ENABLED_PROPERTY, havingValue = "true", matchIfMissing = true)
+    public MeterBinder serverResponseCacheMetrics(ServerResponseCache serverResponseCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, serverResponseCache.nativeCache(), CACHE_NAME);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+    public RequestCoalescer requestCoalescer(MeterRegistry registry) {
+        return new RequestCoalescer(registry);
+    }
+
+    @Bean
+    public ServerNodes serverNodes(@Value("${shareit-server.url}") List<String> urls, ServerBalancerProperties balancer,
+                                   ServerHedgingProperties hedging, MeterRegistry registry) {
+        return new ServerNodes(urls, balancer, hedging, registry);
+    }
+
+    @Bean
+    public ServerTransportDecorators serverTransportDecorators(ObjectProvider<ServerResponseCache> responseCache,
+                                                               ObjectProvider<RequestCoalescer> coalescer,
+                                                               ServerBulkheadProperties bulkhead,
+                                                               ServerResilienceProperties resilience,
+                                                               MeterRegistry registry) {
+        return new ServerTransportDecorators(responseCache.getIfAvailable(), coalescer.getIfAvailable(),
+                bulkhead, resilience, registry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager serverConnectionManager(ServerPoolProperties pool) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.maxTotal())
+                .setMaxConnPerRoute(pool.maxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(toTimeout(pool.connectTimeout()))
+                        .setSocketTimeout(toTimeout(pool.responseTimeout()))
+                        .setValidateAfterInactivity(toTimeValue(pool.validateAfterIdle()))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                ServerPoolProperties pool) {
+        TimeValue keepAlive = toTimeValue(pool.keepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(toTimeout(pool.acquireTimeout()))
+                        .setResponseTimeout(toTimeout(pool.responseTimeout()))
+                        .build())
+                // Держим соединение не дольше, чем разрешил сервер, и не дольше собственного лимита
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue server = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return server.compareTo(keepAlive) < 0 ? server : keepAlive;
+                })
+                // Повторы и ожидание Retry-After внутри клиента удерживали бы место в bulkhead и обходили выключатель
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(pool.evictIdleAfter()))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+    }
+
+    @Bean
+    public ServerTransportFactory restTemplateTransportFactory(RestTemplateBuilder builder,
+                                                               CloseableHttpClient serverHttpClient,
+                                                               ServerPoolProperties pool,
+                                                               ServerNodes serverNodes,
+                                                               ServerTransportDecorators decorators) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+        // Тот же пул соединений, но ответ на массовую операцию ждём дольше обычного
+        HttpComponentsClientHttpRequestFactory bulkRequestFactory = new HttpComponentsClientHttpRequestFactory(serverHttpClient) {
+            @Override
+            protected RequestConfig mergeRequestConfig(RequestConfig clientConfig) {
+                return RequestConfig.copy(super.mergeRequestConfig(clientConfig))
+                        .setResponseTimeout(toTimeout(pool.bulkResponseTimeout()))
+                        .build();
+            }
+        };
+        return new DecoratedServerTransportFactory(serverNodes, decorators,
+                baseUrl -> new RestTemplateServerTransport(restTemplate(builder, baseUrl, requestFactory)),
+                baseUrl -> new RestTemplateServerTransport(restTemplate(builder, baseUrl, bulkRequestFactory)));
+    }
+
+    private static RestTemplate restTemplate(RestTemplateBuilder builder, String baseUrl,
+                                             HttpComponentsClientHttpRequestFactory requestFactory) {
+        return builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
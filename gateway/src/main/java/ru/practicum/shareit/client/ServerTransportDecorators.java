@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Собирает цепочку обёрток над транспортом клиента шлюза. Снаружи внутрь:
+ * кэш ETag, объединение одинаковых запросов, ограничение одновременных обращений к серверу,
+ * автоматический выключатель с адаптивным таймаутом.
+ * Так объединяются именно обращения к серверу, ограничение считает только реально отправленные запросы,
+ * а отказ из-за ограничения не считается неудачей сервера.
+ */
+public class ServerTransportDecorators implements AutoCloseable {
+
+    @Nullable
+    private final ServerResponseCache cache;
+    @Nullable
+    private final RequestCoalescer coalescer;
+    private final ServerBulkheadProperties bulkhead;
+    private final ServerResilienceProperties resilience;
+    private final MeterRegistry registry;
+    private final ExecutorService upstreamExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shareit-upstream-", 0).factory());
+
+    public ServerTransportDecorators(@Nullable ServerResponseCache cache, @Nullable RequestCoalescer coalescer,
+                                     ServerBulkheadProperties bulkhead, ServerResilienceProperties resilience,
+                                     MeterRegistry registry) {
+        this.cache = cache;
+        this.coalescer = coalescer;
+        this.bulkhead = bulkhead;
+        this.resilience = resilience;
+        this.registry = registry;
+    }
+
+    public ServerTransport decorate(String apiPrefix, ServerTransport transport) {
+        String name = clientName(apiPrefix);
+        ServerTransport decorated = transport;
+        if (resilience.enabled()) {
+            decorated = new CircuitBreakerServerTransport(name, decorated, resilience.forClient(name),
+                    upstreamExecutor, registry);
+        }
+        if (bulkhead.enabled()) {
+            decorated = new BulkheadServerTransport(name, decorated, bulkhead, registry);
+        }
+        if (coalescer != null) {
+            decorated = coalescer.wrap(apiPrefix, decorated);
+        }
+        if (cache != null) {
+            decorated = cache.wrap(apiPrefix, decorated);
+        }
+        return decorated;
+    }
+
+    /**
+     * Для массовых операций остаётся только ограничение одновременных обращений, под своим именем:
+     * адаптивный таймаут, посчитанный по обычным запросам, оборвал бы долгий импорт,
+     * а его длительность испортила бы статистику выключателя.
+     */
+    public ServerTransport decorateBulk(String apiPrefix, ServerTransport transport) {
+        if (!bulkhead.enabled()) {
+            return transport;
+        }
+        return new BulkheadServerTransport(clientName(apiPrefix) + "-bulk", transport, bulkhead, registry);
+    }
+
+    @Override
+    public void close() {
+        upstreamExecutor.shutdownNow();
+    }
+
+    static String clientName(String apiPrefix) {
+        return apiPrefix.substring(apiPrefix.lastIndexOf('/') + 1);
+    }
+}
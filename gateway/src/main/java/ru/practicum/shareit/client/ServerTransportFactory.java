@@ -0,0 +1,15 @@
+package ru.practicum.shareit.client;
+
+public interface ServerTransportFactory {
+
+    /**
+     * @param apiPrefix путь API клиента шлюза на сервере, например /users; адреса узлов сервера задаёт shareit-server.url
+     */
+    ServerTransport create(String apiPrefix);
+
+    /**
+     * Транспорт для долгих массовых операций с потоковым телом: без кэша, объединения запросов,
+     * выключателя и адаптивного таймаута, с отдельным, более длинным таймаутом ответа.
+     */
+    ServerTransport createBulk(String apiPrefix);
+}
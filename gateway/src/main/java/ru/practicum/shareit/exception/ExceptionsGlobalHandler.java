@@ -2,7 +2,9 @@ package ru.practicum.shareit.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -88,4 +90,29 @@ public class ExceptionsGlobalHandler {
         log.error(e.getMessage());
         return new BaseErrorResponse("Ошибка при получении предмета", e.getMessage());
     }
+
+    @ExceptionHandler
+    public ResponseEntity<BaseErrorResponse> handleTooManyRequestsException(final TooManyRequestsException e) {
+        log.warn(e.getMessage());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new BaseErrorResponse("Слишком много запросов.", e.getMessage()));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<BaseErrorResponse> handleServiceUnavailableException(final ServiceUnavailableException e) {
+        log.warn(e.getMessage());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new BaseErrorResponse("Сервер временно недоступен.", e.getMessage()));
+    }
+
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    @ExceptionHandler
+    public BaseErrorResponse handleUpstreamTimeoutException(final UpstreamTimeoutException e) {
+        log.error(e.getMessage());
+        return new BaseErrorResponse("Сервер не ответил вовремя.", e.getMessage());
+    }
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.exception;
+
+import java.text.MessageFormat;
+
+public class UpstreamTimeoutException extends RuntimeException {
+    public UpstreamTimeoutException(String message) {
+        super(message);
+    }
+
+    public UpstreamTimeoutException(String message, Object... args) {
+        super(MessageFormat.format(message, args));
+    }
+}
@@ -1,16 +1,18 @@
 package ru.practicum.shareit.items;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.items.dto.CommentDto;
 import ru.practicum.shareit.items.dto.ItemDto;
 
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,37 +20,60 @@ public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
+    private final ServerTransport bulkTransport;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
+        this.bulkTransport = transportFactory.createBulk(API_PREFIX);
     }
 
     public ResponseEntity<Object> create(final ItemDto itemDto, long userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> findAllItemsByUser(long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> importItems(InputStream ndjson, long userId) {
+        return postStream(bulkTransport, "/bulk", userId, MediaType.APPLICATION_NDJSON, ndjson);
+    }
+
+    public ResponseEntity<Object> findAllItemsByUser(Long cursor, int size, long userId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (cursor == null) {
+            return get("?size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("?size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> findById(long id, String ifNoneMatch) {
+        return getIfNoneMatch("/" + id, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> findById(long id) {
-        return get("/" + id);
+    public ResponseEntity<Object> findAllById(List<Long> itemIds) {
+        return get("?ids={ids}", null, Map.of("ids", joinIds(itemIds)));
     }
 
     public ResponseEntity<Object> update(ItemDto itemDto, long id, long userId) {
         return patch("/" + id, userId, itemDto);
     }
 
-    public ResponseEntity<Object> findByText(String text, long userId) {
+    public ResponseEntity<Object> findByText(String text, boolean available, int from, int size, long userId) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "available", available,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&available={available}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggest(String prefix, int size) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "prefix", prefix,
+                "size", size
         );
-        return get("/search?text={text}", userId, parameters);
+        return get("/suggest?prefix={prefix}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> createComment(final CommentDto commentDto, long userId, long itemId) {
@@ -1,13 +1,23 @@
 package ru.practicum.shareit.items;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.items.dto.CommentDto;
 import ru.practicum.shareit.items.dto.ItemDto;
 
+import java.io.InputStream;
+import java.util.List;
+
 @Validated
 @RestController
 @RequestMapping("/items")
@@ -16,6 +26,13 @@ public class ItemController {
 
     private static final String USER_IDENTIFICATOR_HEADER_NAME = "X-Sharer-User-Id";
     private static final String ENDPOINT_PATH_ID = "/{id}";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final String DEFAULT_SUGGESTIONS_SIZE = "10";
+    private static final int MAX_SUGGESTIONS_SIZE = 10;
+    private static final int MAX_IDS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Поиск отдаётся смещением: глубже этой позиции листать незачем, а большие from переполняют from + size
+    private static final int MAX_SEARCH_OFFSET = 10_000;
 
     private final ItemClient client;
 
@@ -25,14 +42,28 @@ public class ItemController {
         return client.create(itemDto, userId);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importItems(InputStream body,
+                                              @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
+        return client.importItems(body, userId);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> findAllOnUser(@RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
-        return client.findAllItemsByUser(userId);
+    public ResponseEntity<Object> findAllOnUser(@RequestParam(required = false) Long cursor,
+                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
+        return client.findAllItemsByUser(cursor, size, userId);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllById(@RequestParam @NotEmpty @Size(max = MAX_IDS) List<Long> ids) {
+        return client.findAllById(ids);
     }
 
     @GetMapping(ENDPOINT_PATH_ID)
-    public ResponseEntity<Object> findById(@PathVariable(name = "id") final Long itemId) {
-        return client.findById(itemId);
+    public ResponseEntity<Object> findById(@PathVariable(name = "id") final Long itemId,
+                                           @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.findById(itemId, ifNoneMatch);
     }
 
     @PatchMapping(ENDPOINT_PATH_ID)
@@ -44,8 +75,17 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> search(@RequestParam(name = "text") String text,
+                                         @RequestParam(defaultValue = "true") boolean available,
+                                         @RequestParam(defaultValue = "0") @PositiveOrZero @Max(MAX_SEARCH_OFFSET) int from,
+                                         @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
                                          @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
-        return client.findByText(text, userId);
+        return client.findByText(text, available, from, size, userId);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggest(@RequestParam(name = "prefix") String prefix,
+                                          @RequestParam(defaultValue = DEFAULT_SUGGESTIONS_SIZE) @Positive @Max(MAX_SUGGESTIONS_SIZE) int size) {
+        return client.suggest(prefix, size);
     }
 
     @PostMapping(ENDPOINT_PATH_ID + "/comment")
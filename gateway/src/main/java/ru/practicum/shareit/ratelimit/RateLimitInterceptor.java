@@ -0,0 +1,35 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.time.Duration;
+
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry registry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String group = rateLimiter.groupOf(request.getRequestURI());
+        String userId = request.getHeader(USER_HEADER);
+        // Без заголовка пользователя ограничиваем по адресу клиента
+        String client = userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+
+        Duration retryAfter = rateLimiter.acquire(group, client);
+        if (retryAfter.isZero()) {
+            return true;
+        }
+
+        registry.counter("gateway.rate.limit.rejected", "group", group).increment();
+        throw new TooManyRequestsException("Превышен лимит запросов к " + group + " для " + client, retryAfter);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Ограничение частоты запросов одного пользователя к группе эндпоинтов.
+ *
+ * @param enabled     включено ли ограничение
+ * @param maxClients  сколько пар «пользователь, группа» хранится одновременно
+ * @param idleTimeout через сколько без запросов состояние пользователя удаляется
+ * @param defaults    лимит для групп, не перечисленных в groups
+ * @param groups      лимиты по группам: первый сегмент пути или первые два через дефис, например items-search
+ */
+@ConfigurationProperties("shareit.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue Limit defaults,
+        Map<String, Limit> groups) {
+
+    public RateLimitProperties {
+        groups = groups == null ? Map.of() : Map.copyOf(groups);
+    }
+
+    /**
+     * @param permitsPerSecond сколько запросов в секунду пополняется в корзине
+     * @param burst            ёмкость корзины: сколько запросов подряд допустимо без пауз
+     */
+    public record Limit(
+            @DefaultValue("50") double permitsPerSecond,
+            @DefaultValue("100") int burst) {
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Корзины токенов по ключу «группа эндпоинтов + клиент». Число корзин ограничено,
+ * корзины неактивных клиентов вытесняются.
+ */
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    /**
+     * @return Duration.ZERO, если запрос разрешён, иначе через сколько можно повторить запрос
+     */
+    public Duration acquire(String group, String client) {
+        RateLimitProperties.Limit limit = properties.groups().getOrDefault(group, properties.defaults());
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(group + "|" + client, key -> new TokenBucket(limit, now));
+        long waitNanos = bucket.tryAcquire(now);
+        return waitNanos == 0 ? Duration.ZERO : Duration.ofNanos(waitNanos);
+    }
+
+    /**
+     * Группа запроса: первые два сегмента пути через дефис, если такая группа настроена, иначе первый сегмент.
+     */
+    public String groupOf(String path) {
+        String[] segments = path.startsWith("/") ? path.substring(1).split("/") : path.split("/");
+        if (segments.length > 1) {
+            String nested = segments[0] + "-" + segments[1];
+            if (properties.groups().containsKey(nested)) {
+                return nested;
+            }
+        }
+        return segments[0];
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Корзина токенов без блокировок. Всё состояние хранится в одном long: теоретическом времени прихода
+ * следующего запроса (алгоритм GCRA). Запрос проходит, если это время опережает текущее не больше,
+ * чем на ёмкость корзины.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(RateLimitProperties.Limit limit, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / limit.permitsPerSecond());
+        this.toleranceNanos = intervalNanos * (Math.max(limit.burst(), 1) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0, если запрос разрешён, иначе через сколько наносекунд освободится токен
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long base = arrival - nowNanos > 0 ? arrival : nowNanos;
+            long waitNanos = base - nowNanos - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,15 +1,15 @@
 package ru.practicum.shareit.requests;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.users.UserClient;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
 
@@ -17,13 +17,8 @@ public class ItemRequestClient extends BaseClient {
     private final UserClient userClient;
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder, UserClient userClient) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemRequestClient(ServerTransportFactory transportFactory, UserClient userClient) {
+        super(transportFactory.create(API_PREFIX));
         this.userClient = userClient;
     }
 
@@ -31,15 +26,21 @@ public class ItemRequestClient extends BaseClient {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> findItemsOfUser(long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> findItemsOfUser(int from, int size, long userId) {
+        return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
-    public ResponseEntity<Object> findItemRequestById(long requestId, long userId) {
-        return get("/" + requestId, userId);
+    public ResponseEntity<Object> findItemRequestById(long requestId, long userId, String ifNoneMatch) {
+        return getIfNoneMatch("/" + requestId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> findItemsNotUser(long userId) {
-        return get("/all", userId);
+    public ResponseEntity<Object> findItemsNotUser(String cursor, int size, long userId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (cursor == null) {
+            return get("/all?size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("/all?size={size}&cursor={cursor}", userId, parameters);
     }
 }
@@ -1,15 +1,23 @@
 package ru.practicum.shareit.requests;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
 
     private static final String USER_IDENTIFICATOR_HEADER_NAME = "X-Sharer-User-Id";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final ItemRequestClient client;
 
@@ -20,18 +28,23 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll(@RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
-        return client.findItemsOfUser(userId);
+    public ResponseEntity<Object> findAll(@RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                          @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
+        return client.findItemsOfUser(from, size, userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllNotUser(@RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
-        return client.findItemsNotUser(userId);
+    public ResponseEntity<Object> findAllNotUser(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                 @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
+        return client.findItemsNotUser(cursor, size, userId);
     }
 
     @GetMapping("/{request-id}")
     public ResponseEntity<Object> findById(@PathVariable(name = "request-id") Long requestId,
-                                           @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
-        return client.findItemRequestById(requestId, userId);
+                                           @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId,
+                                           @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.findItemRequestById(requestId, userId, ifNoneMatch);
     }
 }
\ No newline at end of file
@@ -1,13 +1,13 @@
 package ru.practicum.shareit.users;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
+
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class UserClient extends BaseClient {
@@ -15,13 +15,8 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public UserClient(ServerTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
     public ResponseEntity<Object> create(final UserDto userDto) {
@@ -32,8 +27,12 @@ public class UserClient extends BaseClient {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> findById(final long userId) {
-        return get("/" + userId);
+    public ResponseEntity<Object> findById(final long userId, String ifNoneMatch) {
+        return getIfNoneMatch("/" + userId, null, ifNoneMatch);
+    }
+
+    public ResponseEntity<Object> findAllById(List<Long> userIds) {
+        return get("?ids={ids}", null, Map.of("ids", joinIds(userIds)));
     }
 
     public ResponseEntity<Object> delete(final long userId) {
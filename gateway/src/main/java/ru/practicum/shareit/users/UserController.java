@@ -1,11 +1,16 @@
 package ru.practicum.shareit.users;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Validated
 @RestController
 @RequestMapping("/users")
@@ -13,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private static final String ENDPOINT_PATH_ID = "/{id}";
+    private static final int MAX_IDS = 100;
 
     private final UserClient client;
 
@@ -22,8 +28,14 @@ public class UserController {
     }
 
     @GetMapping(ENDPOINT_PATH_ID)
-    public ResponseEntity<Object> findById(@PathVariable long id) {
-        return client.findById(id);
+    public ResponseEntity<Object> findById(@PathVariable long id,
+                                           @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return client.findById(id, ifNoneMatch);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllById(@RequestParam @NotEmpty @Size(max = MAX_IDS) List<Long> ids) {
+        return client.findAllById(ids);
     }
 
     @PatchMapping(ENDPOINT_PATH_ID)
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveTimeoutTests {
+
+    @Test
+    void timeoutShouldDoubleAndStopAtMaximum() {
+
+        AdaptiveTimeout timeout = new AdaptiveTimeout(settings(Duration.ofSeconds(3)));
+
+        assertEquals(Duration.ofSeconds(3), timeout.current());
+        timeout.recordTimeout();
+        assertEquals(Duration.ofSeconds(6), timeout.current());
+        timeout.recordTimeout();
+        assertEquals(Duration.ofSeconds(10), timeout.current());
+        timeout.recordTimeout();
+        assertEquals(Duration.ofSeconds(10), timeout.current());
+    }
+
+    @Test
+    void initialTimeoutShouldBeClamped() {
+
+        assertEquals(Duration.ofSeconds(10), new AdaptiveTimeout(settings(Duration.ofMinutes(1))).current());
+        assertEquals(Duration.ofMillis(500), new AdaptiveTimeout(settings(Duration.ofMillis(1))).current());
+    }
+
+    @Test
+    void timeoutShouldFollowLatencyWithinBounds() {
+
+        AdaptiveTimeout timeout = new AdaptiveTimeout(settings(Duration.ofSeconds(3)));
+
+        // Первая задержка: сглаженная 1 с, отклонение 0,5 с, таймаут 1 + 4 * 0,5 = 3 с
+        timeout.recordLatency(Duration.ofSeconds(1).toNanos());
+        assertEquals(Duration.ofSeconds(3), timeout.current());
+
+        // Отклонение 0,75 * 0,5 = 0,375 с, таймаут 1 + 4 * 0,375 = 2,5 с
+        timeout.recordLatency(Duration.ofSeconds(1).toNanos());
+        assertEquals(Duration.ofMillis(2500), timeout.current());
+
+        for (int i = 0; i < 100; i++) {
+            timeout.recordLatency(Duration.ofMillis(10).toNanos());
+        }
+        assertEquals(Duration.ofMillis(500), timeout.current());
+
+        timeout.recordTimeout();
+        assertEquals(Duration.ofSeconds(1), timeout.current());
+    }
+
+    private static ServerResilienceProperties.Settings settings(Duration initialTimeout) {
+        return new ServerResilienceProperties.Settings(50, 10, 4, Duration.ofSeconds(10), 2,
+                initialTimeout, Duration.ofMillis(500), Duration.ofSeconds(10), 4);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CachingServerTransportTests {
+
+    private static final String ETAG = "\"v1\"";
+
+    private final List<HttpHeaders> requests = new ArrayList<>();
+
+    @Test
+    void freshEntryShouldBeServedWithoutServer() {
+
+        ServerTransport transport = transport(Duration.ofHours(1), headers -> ok(ETAG, null));
+
+        get(transport, null);
+        ResponseEntity<byte[]> cached = get(transport, null);
+        ResponseEntity<byte[]> notModified = get(transport, ETAG);
+
+        assertEquals(1, requests.size());
+        assertArrayEquals("{}".getBytes(), cached.getBody());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+    }
+
+    @Test
+    void staleEntryShouldBeRevalidatedWithEtag() {
+
+        ServerTransport transport = transport(Duration.ZERO, headers -> headers.getIfNoneMatch().contains(ETAG)
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build()
+                : ok(ETAG, null));
+
+        get(transport, null);
+        ResponseEntity<byte[]> revalidated = get(transport, null);
+
+        assertEquals(2, requests.size());
+        assertEquals(List.of(ETAG), requests.get(1).getIfNoneMatch());
+        assertArrayEquals("{}".getBytes(), revalidated.getBody());
+    }
+
+    @Test
+    void serverNoCacheShouldOverrideConfiguredFreshness() {
+
+        ServerTransport transport = transport(Duration.ofHours(1), headers -> ok(ETAG, "no-cache"));
+
+        get(transport, null);
+        get(transport, null);
+
+        assertEquals(2, requests.size());
+        assertEquals(List.of(ETAG), requests.get(1).getIfNoneMatch());
+    }
+
+    @Test
+    void writeThroughGatewayShouldDropFreshEntryOfSameResource() {
+
+        ServerTransport transport = transport(Duration.ofHours(1), headers -> ok(ETAG, null));
+
+        get(transport, null);
+        transport.exchange(HttpMethod.POST, "/1/comment", userHeaders(), null, "{}");
+        get(transport, null);
+
+        assertEquals(3, requests.size());
+        assertNull(requests.get(2).getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    private ServerTransport transport(Duration freshFor, Function<HttpHeaders, ResponseEntity<byte[]>> server) {
+        ServerResponseCache cache = new ServerResponseCache(
+                new ServerCacheProperties(true, DataSize.ofMegabytes(1), Duration.ofMinutes(10), freshFor));
+        return cache.wrap("http://server/items", (method, path, headers, parameters, body) -> {
+            requests.add(headers);
+            return server.apply(headers);
+        });
+    }
+
+    private static ResponseEntity<byte[]> ok(String etag, String cacheControl) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (cacheControl != null) {
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return response.body("{}".getBytes());
+    }
+
+    private static ResponseEntity<byte[]> get(ServerTransport transport, String ifNoneMatch) {
+        HttpHeaders headers = userHeaders();
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return transport.exchange(HttpMethod.GET, "/1", headers, null, null);
+    }
+
+    private static HttpHeaders userHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ServerRequestKey.USER_HEADER, "1");
+        return headers;
+    }
+}
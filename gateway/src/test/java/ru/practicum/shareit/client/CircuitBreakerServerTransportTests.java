@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.exception.UpstreamTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerServerTransportTests {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void clientErrorsShouldNotOpenBreaker() {
+
+        ServerTransport transport = transport(HttpStatus.NOT_FOUND, CircuitBreakerTests.settings(Duration.ofSeconds(10)));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(HttpStatus.NOT_FOUND, exchange(transport).getStatusCode());
+        }
+        assertEquals(20, calls.get());
+    }
+
+    @Test
+    void serverErrorsShouldOpenBreakerAndFailFastWithoutCallingServer() {
+
+        ServerTransport transport = transport(HttpStatus.INTERNAL_SERVER_ERROR,
+                CircuitBreakerTests.settings(Duration.ofSeconds(10)));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange(transport).getStatusCode());
+        }
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> exchange(transport));
+
+        assertEquals(4, calls.get());
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(9)) > 0);
+    }
+
+    @Test
+    void slowServerShouldTimeOutAndInterruptCall() throws InterruptedException {
+
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ServerResilienceProperties.Settings settings = new ServerResilienceProperties.Settings(50, 10, 4,
+                Duration.ofSeconds(10), 2, Duration.ofMillis(50), Duration.ofMillis(50), Duration.ofMillis(100), 4);
+        ServerTransport transport = new CircuitBreakerServerTransport("items",
+                (method, path, headers, parameters, body) -> {
+                    try {
+                        Thread.sleep(Duration.ofSeconds(10));
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return ResponseEntity.ok().build();
+                }, settings, executor, new SimpleMeterRegistry());
+
+        assertThrows(UpstreamTimeoutException.class, () -> exchange(transport));
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    private ServerTransport transport(HttpStatus status, ServerResilienceProperties.Settings settings) {
+        return new CircuitBreakerServerTransport("items", (method, path, headers, parameters, body) -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(status).build();
+        }, settings, executor, new SimpleMeterRegistry());
+    }
+
+    private static ResponseEntity<byte[]> exchange(ServerTransport transport) {
+        return transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null);
+    }
+}
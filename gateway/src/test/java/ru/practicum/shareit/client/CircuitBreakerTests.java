@@ -0,0 +1,143 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTests {
+
+    private static final Duration SHORT_OPEN = Duration.ofMillis(50);
+
+    @Test
+    void shouldOpenAtThresholdOnlyAfterMinimumCalls() {
+
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(10));
+
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+        // Три неудачи из трёх, но окно ещё меньше minimumCalls
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        succeed(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        // Три неудачи из шести — ровно порог, но он проверяется только при неудаче
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void shouldNotOpenBelowThreshold() {
+
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(10));
+
+        for (int i = 0; i < 10; i++) {
+            succeed(breaker);
+            if (i % 3 == 0) {
+                fail(breaker);
+            }
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void openBreakerShouldFailFastWithRemainingOpenDuration() {
+
+        CircuitBreaker breaker = open(Duration.ofSeconds(10));
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, breaker::acquire);
+
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(10)) <= 0);
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(9)) > 0);
+    }
+
+    @Test
+    void halfOpenShouldAllowOnlyConfiguredProbes() throws InterruptedException {
+
+        CircuitBreaker breaker = open(SHORT_OPEN);
+        Thread.sleep(SHORT_OPEN.toMillis() * 2);
+
+        assertTrue(breaker.acquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.acquire());
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, breaker::acquire);
+        assertEquals(SHORT_OPEN, e.getRetryAfter());
+
+        breaker.onSuccess(true);
+        // Успешная проба не освобождает слот: всего проб не больше halfOpenProbes
+        assertThrows(ServiceUnavailableException.class, breaker::acquire);
+        breaker.onSuccess(true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertFalse(breaker.acquire());
+    }
+
+    @Test
+    void ignoredProbeShouldFreeItsSlot() throws InterruptedException {
+
+        CircuitBreaker breaker = open(SHORT_OPEN);
+        Thread.sleep(SHORT_OPEN.toMillis() * 2);
+
+        assertTrue(breaker.acquire());
+        assertTrue(breaker.acquire());
+        breaker.onIgnored(true);
+
+        assertTrue(breaker.acquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+    }
+
+    @Test
+    void failedProbeShouldReopenBreaker() throws InterruptedException {
+
+        CircuitBreaker breaker = open(SHORT_OPEN);
+        Thread.sleep(SHORT_OPEN.toMillis() * 2);
+
+        boolean first = breaker.acquire();
+        boolean second = breaker.acquire();
+        breaker.onFailure(first);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(ServiceUnavailableException.class, breaker::acquire);
+
+        // Поздний ответ пробы, начатой до повторного размыкания, состояние не меняет
+        breaker.onSuccess(second);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private static CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker("items", settings(openDuration), new SimpleMeterRegistry());
+    }
+
+    private static CircuitBreaker open(Duration openDuration) {
+        CircuitBreaker breaker = breaker(openDuration);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        return breaker;
+    }
+
+    private static void succeed(CircuitBreaker breaker) {
+        breaker.onSuccess(breaker.acquire());
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        breaker.onFailure(breaker.acquire());
+    }
+
+    static ServerResilienceProperties.Settings settings(Duration openDuration) {
+        return new ServerResilienceProperties.Settings(50, 10, 4, openDuration, 2,
+                Duration.ofSeconds(3), Duration.ofMillis(500), Duration.ofSeconds(10), 4);
+    }
+}
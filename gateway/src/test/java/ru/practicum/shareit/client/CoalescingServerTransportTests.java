@@ -0,0 +1,163 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingServerTransportTests {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(registry);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalGetsShouldReachServerOnce() throws Exception {
+
+        ResponseEntity<byte[]> response = ResponseEntity.ok("{}".getBytes());
+        ServerTransport transport = coalescer.wrap("/items", blockingDelegate(() -> response));
+
+        List<Future<ResponseEntity<byte[]>>> results = startAll(transport, 1L);
+        awaitCoalesced(FOLLOWERS);
+        release.countDown();
+
+        for (Future<ResponseEntity<byte[]>> result : results) {
+            assertSame(response, result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+
+        // Завершённый запрос больше не объединяется: следующий идёт на сервер
+        get(transport, 1L);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void leaderExceptionShouldReachFollowers() throws Exception {
+
+        IllegalStateException failure = new IllegalStateException("Сервер недоступен");
+        ServerTransport transport = coalescer.wrap("/items", blockingDelegate(() -> {
+            throw failure;
+        }));
+
+        List<Future<ResponseEntity<byte[]>>> results = startAll(transport, 1L);
+        awaitCoalesced(FOLLOWERS);
+        release.countDown();
+
+        for (Future<ResponseEntity<byte[]>> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void requestsOfDifferentUsersShouldNotBeCoalesced() throws Exception {
+
+        CountDownLatch bothEntered = new CountDownLatch(2);
+        ServerTransport transport = coalescer.wrap("/items", (method, path, headers, parameters, body) -> {
+            calls.incrementAndGet();
+            bothEntered.countDown();
+            await(release);
+            return ResponseEntity.ok().build();
+        });
+
+        Future<ResponseEntity<byte[]>> first = executor.submit(() -> get(transport, 1L));
+        Future<ResponseEntity<byte[]>> second = executor.submit(() -> get(transport, 2L));
+
+        // Оба запроса дошли до сервера, пока ни один не завершился
+        assertTrue(bothEntered.await(1, TimeUnit.SECONDS));
+        release.countDown();
+        first.get(1, TimeUnit.SECONDS);
+        second.get(1, TimeUnit.SECONDS);
+        assertEquals(2, calls.get());
+        assertEquals(0.0, registry.counter("gateway.requests.coalesced").count());
+    }
+
+    @Test
+    void nonGetRequestsShouldNotBeCoalesced() throws Exception {
+
+        CountDownLatch bothEntered = new CountDownLatch(2);
+        ServerTransport transport = coalescer.wrap("/items", (method, path, headers, parameters, body) -> {
+            bothEntered.countDown();
+            await(release);
+            return ResponseEntity.ok().build();
+        });
+
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> transport.exchange(HttpMethod.POST, "", headers(1L), null, Map.of()));
+        }
+
+        assertTrue(bothEntered.await(1, TimeUnit.SECONDS));
+    }
+
+    private ServerTransport blockingDelegate(Supplier<ResponseEntity<byte[]>> supplier) {
+        return (method, path, headers, parameters, body) -> {
+            calls.incrementAndGet();
+            await(release);
+            return supplier.get();
+        };
+    }
+
+    private List<Future<ResponseEntity<byte[]>>> startAll(ServerTransport transport, long userId) {
+        List<Future<ResponseEntity<byte[]>>> results = new ArrayList<>();
+        for (int i = 0; i <= FOLLOWERS; i++) {
+            results.add(executor.submit(() -> get(transport, userId)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.counter("gateway.requests.coalesced").count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Запросы не объединились");
+            Thread.sleep(5);
+        }
+    }
+
+    private static ResponseEntity<byte[]> get(ServerTransport transport, long userId) {
+        return transport.exchange(HttpMethod.GET, "/{id}", headers(userId), Map.of("id", 5), null);
+    }
+
+    private static HttpHeaders headers(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ServerRequestKey.USER_HEADER, String.valueOf(userId));
+        return headers;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
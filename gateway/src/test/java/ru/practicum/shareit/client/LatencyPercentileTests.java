@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyPercentileTests {
+
+    @Test
+    void shouldReportNothingUntilMinSamplesCollected() {
+
+        LatencyPercentile percentile = new LatencyPercentile(95, 50);
+
+        for (int i = 1; i < 50; i++) {
+            percentile.record(i);
+        }
+        assertEquals(-1, percentile.nanos());
+
+        percentile.record(50);
+        // 95-й перцентиль из 1..50: ceil(0,95 * 50) = 48-е значение
+        assertEquals(48, percentile.nanos());
+    }
+
+    @Test
+    void shouldRecalculateOncePerBatchOfSamples() {
+
+        LatencyPercentile percentile = new LatencyPercentile(95, 50);
+
+        for (int i = 1; i <= 81; i++) {
+            percentile.record(i);
+        }
+        assertEquals(48, percentile.nanos());
+
+        percentile.record(82);
+        // ceil(0,95 * 82) = 78-е значение
+        assertEquals(78, percentile.nanos());
+    }
+
+    @Test
+    void shouldForgetSamplesOutsideWindow() {
+
+        LatencyPercentile percentile = new LatencyPercentile(50, 1);
+
+        for (int i = 0; i < 512; i++) {
+            percentile.record(1_000);
+        }
+        for (int i = 0; i < 512; i++) {
+            percentile.record(10);
+        }
+
+        assertEquals(10, percentile.nanos());
+    }
+}
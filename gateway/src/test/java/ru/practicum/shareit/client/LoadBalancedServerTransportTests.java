@@ -0,0 +1,161 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadBalancedServerTransportTests {
+
+    private static final String FIRST = "http://server-1:9090";
+    private static final String SECOND = "http://server-2:9090";
+    private static final long BLOCK = -1;
+    private static final long REFUSE = -2;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // адрес узла -> задержка ответа в мс; BLOCK — ждать, пока попытку не отменят, REFUSE — ошибка соединения
+    private final Map<String, Long> delays = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    private ServerNodes nodes;
+
+    @AfterEach
+    void tearDown() {
+        if (nodes != null) {
+            nodes.close();
+        }
+    }
+
+    @Test
+    void slowRequestShouldBeHedgedAndLoserCancelled() throws InterruptedException {
+
+        ServerTransport transport = transport(100);
+        String slowUser = userOn(FIRST);
+        String fastUser = userOn(SECOND);
+        delays.put(FIRST, BLOCK);
+
+        // Первый ответ задаёт перцентиль задержки, после него можно дублировать
+        get(transport, fastUser);
+        ResponseEntity<byte[]> response = get(transport, slowUser);
+
+        assertEquals(SECOND, new String(response.getBody()));
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.counter("gateway.hedge.sent", "client", "items").count());
+        assertEquals(1.0, registry.counter("gateway.hedge.wins", "client", "items").count());
+        // Отменённая попытка не считается ошибкой узла
+        assertEquals(FIRST, nodes.choose(slowUser, null).url());
+    }
+
+    @Test
+    void hedgingShouldStayWithinBudget() {
+
+        ServerTransport transport = transport(10);
+        String user = userOn(FIRST);
+
+        get(transport, user);
+        delays.put(FIRST, 60L);
+        delays.put(SECOND, 60L);
+        for (int i = 0; i < 20; i++) {
+            get(transport, user);
+        }
+
+        // 10% от 21 запроса: дублируются только 10-й и 20-й
+        assertEquals(21.0, registry.counter("gateway.hedge.requests", "client", "items").count());
+        assertEquals(2.0, registry.counter("gateway.hedge.sent", "client", "items").count());
+        assertEquals(2, calls.get(SECOND).get());
+    }
+
+    @Test
+    void fastRequestShouldNotBeHedged() {
+
+        ServerTransport transport = transport(100);
+        String user = userOn(FIRST);
+
+        for (int i = 0; i < 10; i++) {
+            get(transport, user);
+        }
+
+        assertEquals(0.0, registry.counter("gateway.hedge.sent", "client", "items").count());
+        assertEquals(0, calls.get(SECOND).get());
+    }
+
+    @Test
+    void connectionFailureShouldBeRetriedOnOtherNode() {
+
+        ServerTransport transport = transport(0);
+        String user = userOn(FIRST);
+        delays.put(FIRST, REFUSE);
+
+        assertEquals(SECOND, new String(get(transport, user).getBody()));
+        assertEquals(1, calls.get(FIRST).get());
+    }
+
+    @Test
+    void writeShouldNotBeRetried() {
+
+        ServerTransport transport = transport(0);
+        String user = userOn(FIRST);
+        delays.put(FIRST, REFUSE);
+
+        assertThrows(ResourceAccessException.class,
+                () -> transport.exchange(HttpMethod.POST, "", headers(user), null, Map.of()));
+        assertEquals(0, calls.get(SECOND).get());
+    }
+
+    private ServerTransport transport(int budgetPercent) {
+        nodes = new ServerNodes(List.of(FIRST, SECOND), ServerNodesTests.balancer(true),
+                new ServerHedgingProperties(budgetPercent > 0, 50, Duration.ofMillis(10), 1, budgetPercent), registry);
+        for (String url : List.of(FIRST, SECOND)) {
+            delays.put(url, 0L);
+            calls.put(url, new AtomicInteger());
+        }
+        return nodes.balance("/items", url -> (method, path, headers, parameters, body) -> {
+            calls.get(url).incrementAndGet();
+            long delay = delays.get(url);
+            if (delay == REFUSE) {
+                throw new ResourceAccessException("Соединение отклонено", new IOException("Connection refused"));
+            }
+            try {
+                Thread.sleep(delay == BLOCK ? Duration.ofSeconds(10).toMillis() : delay);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                throw new IllegalStateException("Попытка отменена", e);
+            }
+            return ResponseEntity.ok(url.getBytes());
+        });
+    }
+
+    private String userOn(String url) {
+        for (int user = 1; ; user++) {
+            if (nodes.choose(String.valueOf(user), null).url().equals(url)) {
+                return String.valueOf(user);
+            }
+        }
+    }
+
+    private static ResponseEntity<byte[]> get(ServerTransport transport, String userId) {
+        return transport.exchange(HttpMethod.GET, "/1", headers(userId), null, null);
+    }
+
+    private static HttpHeaders headers(String userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ServerRequestKey.USER_HEADER, userId);
+        return headers;
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerNodesTests {
+
+    private static final List<String> URLS = List.of("http://server-1:9090", "http://server-2:9090/",
+            "http://server-3:9090");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ServerNodes nodes;
+
+    @AfterEach
+    void tearDown() {
+        if (nodes != null) {
+            nodes.close();
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyUrlList() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ServerNodes(List.of(" ", ""), balancer(false),
+                hedging(), registry));
+    }
+
+    @Test
+    void ejectedNodeShouldNotBeChosenUntilEjectionEnds() {
+
+        nodes = new ServerNodes(URLS, balancer(false), hedging(), registry);
+        ServerNode ejected = node("http://server-2:9090");
+
+        nodes.onFailure(ejected);
+        // Одной ошибки мало: узел выводится после failuresToEject подряд
+        assertTrue(ejected.isAvailable(System.nanoTime()));
+        nodes.onFailure(ejected);
+
+        for (int i = 0; i < 200; i++) {
+            assertNotSame(ejected, nodes.choose(null, null));
+        }
+        assertEquals(1.0, registry.counter("gateway.server.node.ejections", "node", ejected.url()).count());
+    }
+
+    @Test
+    void successShouldResetFailureSeries() {
+
+        nodes = new ServerNodes(URLS, balancer(false), hedging(), registry);
+        ServerNode node = node("http://server-1:9090");
+
+        nodes.onFailure(node);
+        nodes.onSuccess(node);
+        nodes.onFailure(node);
+
+        assertTrue(node.isAvailable(System.nanoTime()));
+    }
+
+    @Test
+    void shouldFallBackToAllNodesWhenNoneAvailable() {
+
+        nodes = new ServerNodes(URLS.subList(0, 2), balancer(false), hedging(), registry);
+        ServerNode first = node("http://server-1:9090");
+        ServerNode second = node("http://server-2:9090");
+        first.setHealthy(false);
+        second.setHealthy(false);
+
+        ServerNode chosen = nodes.choose(null, null);
+        assertTrue(chosen == first || chosen == second);
+        assertSame(second, nodes.choose(null, first));
+        assertSame(first, nodes.choose(null, second));
+    }
+
+    @Test
+    void excludedNodeShouldNotBeChosenWhileOthersExist() {
+
+        nodes = new ServerNodes(URLS, balancer(false), hedging(), registry);
+        ServerNode excluded = node("http://server-3:9090");
+
+        for (int i = 0; i < 200; i++) {
+            assertNotSame(excluded, nodes.choose("1", excluded));
+        }
+    }
+
+    @Test
+    void stickyChoiceShouldBeStableAndMoveOnlyUsersOfEjectedNode() {
+
+        nodes = new ServerNodes(URLS, balancer(true), hedging(), registry);
+        Map<String, ServerNode> assigned = new HashMap<>();
+        for (int user = 1; user <= 300; user++) {
+            String userId = String.valueOf(user);
+            ServerNode node = nodes.choose(userId, null);
+            assertSame(node, nodes.choose(userId, null));
+            assigned.put(userId, node);
+        }
+        // Пользователи распределены по всем узлам
+        assertEquals(3, assigned.values().stream().distinct().count());
+
+        ServerNode ejected = node("http://server-2:9090");
+        nodes.onFailure(ejected);
+        nodes.onFailure(ejected);
+
+        for (Map.Entry<String, ServerNode> entry : assigned.entrySet()) {
+            ServerNode node = nodes.choose(entry.getKey(), null);
+            if (entry.getValue() == ejected) {
+                assertNotSame(ejected, node);
+            } else {
+                assertSame(entry.getValue(), node);
+            }
+        }
+    }
+
+    @Test
+    void singleNodeShouldBeUsedDirectly() {
+
+        nodes = new ServerNodes(List.of("http://server:9090/"), balancer(false), hedging(), registry);
+        ServerTransport transport = (method, path, headers, parameters, body) -> null;
+
+        assertSame(transport, nodes.balance("/items", url -> {
+            assertEquals("http://server:9090", url);
+            return transport;
+        }));
+        assertEquals("http://server:9090", nodes.choose(null, null).url());
+    }
+
+    private ServerNode node(String url) {
+        for (int i = 0; i < 1000; i++) {
+            ServerNode node = nodes.choose(null, null);
+            if (node.url().equals(url)) {
+                return node;
+            }
+        }
+        throw new AssertionError("Узел " + url + " не выбран ни разу");
+    }
+
+    static ServerBalancerProperties balancer(boolean sticky) {
+        return new ServerBalancerProperties("power-of-two", sticky, 2, Duration.ofMinutes(1), "/actuator/health",
+                Duration.ofHours(1), Duration.ofSeconds(1));
+    }
+
+    private static ServerHedgingProperties hedging() {
+        return new ServerHedgingProperties(false, 95, Duration.ofMillis(10), 50, 10);
+    }
+}
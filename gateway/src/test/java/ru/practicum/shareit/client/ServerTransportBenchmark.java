@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сколько одновременных вызовов сервера держит блокирующий транспорт шлюза на виртуальных потоках.
+ * Сервер-заглушка отвечает с задержкой, поэтому число вызовов в полёте определяется только пулом соединений,
+ * а не числом потоков платформы. Не входит в обычную сборку, запуск:
+ * mvn -pl gateway test -Dtest=ServerTransportBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ServerTransportBenchmark {
+
+    private static final int CALLS = 4_000;
+    private static final long SERVER_DELAY_MILLIS = 500;
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void concurrentCallsPerCore() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), CALLS);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/users", exchange -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SERVER_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.start();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(CALLS)
+                .setMaxConnPerRoute(CALLS)
+                .build();
+        try (CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+             ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            RestTemplate rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+            rest.setUriTemplateHandler(new DefaultUriBuilderFactory(
+                    "http://localhost:" + server.getAddress().getPort() + "/users"));
+            ServerTransport transport = new RestTemplateServerTransport(rest);
+
+            int platformThreadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ResponseEntity<byte[]>>> calls = new ArrayList<>(CALLS);
+            for (int i = 0; i < CALLS; i++) {
+                calls.add(callers.submit(() -> {
+                    start.await();
+                    return transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null);
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<ResponseEntity<byte[]>> call : calls) {
+                assertEquals(200, call.get().getStatusCode().value());
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            int platformThreadsAfter = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            int cores = Runtime.getRuntime().availableProcessors();
+            System.out.printf("RestTemplate на виртуальных потоках: %d вызовов по %d мс за %d мс, "
+                            + "одновременно в полёте до %d (%d на ядро, ядер: %d), потоков платформы: %d -> %d%n",
+                    CALLS, SERVER_DELAY_MILLIS, elapsedMillis, peak.get(), peak.get() / cores, cores,
+                    platformThreadsBefore, platformThreadsAfter);
+            assertTrue(peak.get() > cores);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.exception.ExceptionsGlobalHandler;
+import ru.practicum.shareit.users.UserClient;
+import ru.practicum.shareit.users.UserController;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RateLimitInterceptorTests {
+
+    private final UserClient userClient = mock(UserClient.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        // Один запрос раз в 2,5 секунды: Retry-After округляется вверх до 3
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, 1000, Duration.ofMinutes(10),
+                new RateLimitProperties.Limit(0.4, 1), Map.of()));
+        mvc = MockMvcBuilders.standaloneSetup(new UserController(userClient))
+                .addInterceptors(new RateLimitInterceptor(rateLimiter, registry))
+                .setControllerAdvice(new ExceptionsGlobalHandler())
+                .build();
+        when(userClient.findById(anyLong(), any())).thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    void shouldRespondTooManyRequestsWithRetryAfterWhenLimitExceeded() throws Exception {
+
+        mvc.perform(get("/users/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+
+        verify(userClient, times(1)).findById(anyLong(), any());
+        assertEquals(1.0, registry.counter("gateway.rate.limit.rejected", "group", "users").count());
+    }
+
+    @Test
+    void shouldLimitUsersSeparatelyAndFallBackToClientAddress() throws Exception {
+
+        mvc.perform(get("/users/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/1").header("X-Sharer-User-Id", 2))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/1"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/1"))
+                .andExpect(status().isTooManyRequests());
+    }
+}
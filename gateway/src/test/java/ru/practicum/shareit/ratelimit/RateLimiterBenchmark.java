@@ -0,0 +1,79 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Замер накладных расходов ограничителя на один запрос. Не входит в обычную сборку, запуск:
+ * mvn -pl gateway test -Dtest=RateLimiterBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RateLimiterBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int ITERATIONS = 5_000_000;
+    private static final int CLIENTS = 10_000;
+
+    private final RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, 100_000, Duration.ofMinutes(10),
+            new RateLimitProperties.Limit(1_000_000, 1_000_000), Map.of()));
+
+    @Test
+    void singleThread() {
+        run(WARMUP_ITERATIONS, 0);
+        long nanosPerOp = run(ITERATIONS, 0);
+        System.out.printf("RateLimiter.acquire, 1 поток: %d нс/запрос%n", nanosPerOp);
+        assertTrue(nanosPerOp > 0);
+    }
+
+    @Test
+    void contended() throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            run(WARMUP_ITERATIONS, 0);
+            Future<?>[] futures = new Future<?>[threads];
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures[t] = executor.submit(() -> run(ITERATIONS / threads, offset));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long nanosPerOp = (System.nanoTime() - start) / ITERATIONS;
+            System.out.printf("RateLimiter.acquire, %d потоков: %d нс/запрос (пропускная способность)%n",
+                    threads, nanosPerOp);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private long run(int iterations, int offset) {
+        String[] clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "user:" + i;
+        }
+        String[] paths = {"/items/search", "/items/1", "/bookings/owner", "/users/1"};
+        long allowed = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            String group = rateLimiter.groupOf(paths[i & 3]);
+            if (rateLimiter.acquire(group, clients[(i + offset) % CLIENTS]).isZero()) {
+                allowed++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(allowed > 0);
+        return elapsed / iterations;
+    }
+}
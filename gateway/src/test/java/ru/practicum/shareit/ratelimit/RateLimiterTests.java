@@ -0,0 +1,48 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTests {
+
+    private final RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, 1000, Duration.ofMinutes(10),
+            new RateLimitProperties.Limit(1, 1),
+            Map.of("items-search", new RateLimitProperties.Limit(1, 2))));
+
+    @Test
+    void groupOfShouldUseNestedGroupOnlyWhenConfigured() {
+
+        assertEquals("items-search", rateLimiter.groupOf("/items/search"));
+        assertEquals("items", rateLimiter.groupOf("/items/5"));
+        assertEquals("items", rateLimiter.groupOf("/items"));
+        assertEquals("bookings", rateLimiter.groupOf("/bookings/owner"));
+        assertEquals("users", rateLimiter.groupOf("users/1"));
+    }
+
+    @Test
+    void acquireShouldUseGroupLimitOrDefaults() {
+
+        assertTrue(rateLimiter.acquire("items-search", "user:1").isZero());
+        assertTrue(rateLimiter.acquire("items-search", "user:1").isZero());
+        assertTrue(rateLimiter.acquire("items-search", "user:1").compareTo(Duration.ZERO) > 0);
+
+        assertTrue(rateLimiter.acquire("items", "user:1").isZero());
+        Duration retryAfter = rateLimiter.acquire("items", "user:1");
+        assertTrue(retryAfter.compareTo(Duration.ZERO) > 0);
+        assertTrue(retryAfter.compareTo(Duration.ofSeconds(1)) <= 0);
+    }
+
+    @Test
+    void acquireShouldKeepSeparateBucketsForClients() {
+
+        assertTrue(rateLimiter.acquire("items", "user:1").isZero());
+        assertTrue(rateLimiter.acquire("items", "user:2").isZero());
+        assertTrue(rateLimiter.acquire("items", "ip:127.0.0.1").isZero());
+        assertTrue(rateLimiter.acquire("users", "user:1").isZero());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTests {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void shouldAllowBurstAndRejectNextRequestUntilIntervalPasses() {
+
+        // 10 запросов в секунду: интервал 100 мс, допуск на всплеск (3 - 1) * 100 мс
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(10, 3), 0L);
+
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(100 * MILLIS, bucket.tryAcquire(0L));
+        assertEquals(40 * MILLIS, bucket.tryAcquire(60 * MILLIS));
+        assertEquals(0L, bucket.tryAcquire(100 * MILLIS));
+        assertEquals(100 * MILLIS, bucket.tryAcquire(100 * MILLIS));
+    }
+
+    @Test
+    void rejectedRequestShouldNotConsumeToken() {
+
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(10, 1), 0L);
+
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(100 * MILLIS, bucket.tryAcquire(0L));
+        assertEquals(100 * MILLIS, bucket.tryAcquire(0L));
+        assertEquals(0L, bucket.tryAcquire(100 * MILLIS));
+    }
+
+    @Test
+    void idleBucketShouldRefillOnlyUpToBurst() {
+
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(10, 2), 0L);
+        long later = 10_000 * MILLIS;
+
+        assertEquals(0L, bucket.tryAcquire(later));
+        assertEquals(0L, bucket.tryAcquire(later));
+        assertEquals(100 * MILLIS, bucket.tryAcquire(later));
+    }
+
+    @Test
+    void zeroBurstShouldBehaveAsBurstOfOne() {
+
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(2, 0), 0L);
+
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(500 * MILLIS, bucket.tryAcquire(0L));
+    }
+}
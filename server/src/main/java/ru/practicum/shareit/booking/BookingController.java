@@ -1,19 +1,32 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
+import ru.practicum.shareit.common.web.TimestampCursor;
 
 import java.util.List;
 
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
     private static final String USER_IDENTIFICATOR_HEADER_NAME = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER_NAME = "X-Next-Cursor";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_IDS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookingService service;
 
     @PostMapping
@@ -36,15 +49,34 @@ public class BookingController {
         return service.specificBooking(bookingId, userId);
     }
 
+    @GetMapping(params = "ids")
+    public List<BookingDto> findAllById(@RequestParam @Size(max = MAX_IDS) List<Long> ids,
+                                        @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) long userId) {
+        return service.findAllById(ids, userId);
+    }
+
     @GetMapping
-    public List<BookingDto> getAllBookingsOfUser(@RequestParam(defaultValue = "ALL") BookingState state,
-                                                 @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) long userId) {
-        return service.getAllBookings(state, userId);
+    public ResponseEntity<List<BookingDto>> getAllBookingsOfUser(@RequestParam(defaultValue = "ALL") BookingState state,
+                                                                 @RequestParam(required = false) TimestampCursor cursor,
+                                                                 @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                                 @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) long userId) {
+        return toPageResponse(service.getAllBookings(state, userId, cursor, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllBookingsOfUserItems(@RequestParam(defaultValue = "ALL") BookingState state,
-                                                      @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) long userId) {
-        return service.getAllBookingsOfUserItems(state, userId);
+    public ResponseEntity<List<BookingDto>> getAllBookingsOfUserItems(@RequestParam(defaultValue = "ALL") BookingState state,
+                                                                      @RequestParam(required = false) TimestampCursor cursor,
+                                                                      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                                      @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) long userId) {
+        return toPageResponse(service.getAllBookingsOfUserItems(state, userId, cursor, size));
+    }
+
+    private static ResponseEntity<List<BookingDto>> toPageResponse(Window<BookingDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext() && !page.isEmpty()) {
+            BookingDto last = page.getContent().getLast();
+            response.header(NEXT_CURSOR_HEADER_NAME, new TimestampCursor(last.getStart(), last.getId()).toString());
+        }
+        return response.body(page.getContent());
     }
 }
@@ -4,6 +4,8 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.common.dto.CatalogDto;
 import ru.practicum.shareit.common.mapper.CatalogMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -36,6 +38,23 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingDto mapToDto(BookingView bookingView) {
+        return BookingDto.builder()
+                .id(bookingView.id())
+                .start(bookingView.start())
+                .end(bookingView.end())
+                .booker(CatalogDto.builder()
+                        .id(bookingView.bookerId())
+                        .name(bookingView.bookerName())
+                        .build())
+                .item(CatalogDto.builder()
+                        .id(bookingView.itemId())
+                        .name(bookingView.itemName())
+                        .build())
+                .status(bookingView.status())
+                .build();
+    }
+
     public static List<BookingDto> mapToDto(List<Booking> bookings) {
         List<BookingDto> dtos = new ArrayList<>();
         for (Booking booking : bookings) {
@@ -1,46 +1,71 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.ItemBookingDate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSearchRepository {
 
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByBooker_IdAndStatus(Long bookerId, BookingStatus status, Sort sort);
+    @Override
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    List<Booking> findAllById(Iterable<Long> ids);
 
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByBooker_Id(long userId, Sort sort);
+    /**
+     * Вещь в ORDER BY избыточна при b.item.id = ?1, но без неё H2 не узнаёт порядок индекса по (item_id, start_timestamp)
+     * и сортирует все бронирования вещи вместо того, чтобы остановиться на первом подходящем.
+     */
+    @Query("""
+            SELECT b.end FROM Booking b
+            WHERE b.item.id = ?1 AND b.status = ?2 AND b.start < ?3
+            ORDER BY b.item.id DESC, b.start DESC
+            LIMIT 1
+            """)
+    Optional<LocalDateTime> findLastBookingEnd(long itemId, BookingStatus status, LocalDateTime now);
 
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByBooker_IdAndStartBeforeAndEndAfter(Long bookerId, LocalDateTime startBefore, LocalDateTime endAfter, Sort sort);
+    @Query("""
+            SELECT b.start FROM Booking b
+            WHERE b.item.id = ?1 AND b.status = ?2 AND b.start > ?3
+            ORDER BY b.item.id, b.start
+            LIMIT 1
+            """)
+    Optional<LocalDateTime> findNextBookingStart(long itemId, BookingStatus status, LocalDateTime now);
 
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByBooker_IdAndEndBefore(long bookerId, LocalDateTime endBefore, Sort sort);
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.ItemBookingDate(b.item.id, b.end) FROM Booking b
+            WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start = (
+                SELECT MAX(lb.start) FROM Booking lb
+                WHERE lb.item.id = b.item.id AND lb.status = ?2 AND lb.start < ?3
+            )
+            """)
+    List<ItemBookingDate> findLastBookingEnds(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByBooker_IdAndStartAfter(long userId, LocalDateTime nowTimestamp, Sort sort);
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.ItemBookingDate(b.item.id, MIN(b.start)) FROM Booking b
+            WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start > ?3
+            GROUP BY b.item.id
+            """)
+    List<ItemBookingDate> findNextBookingStarts(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByItem_Owner_Id(long userId, Sort sortByStart);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByItem_Owner_IdAndStartBeforeAndEndAfter(long userId, LocalDateTime nowTimestamp, LocalDateTime nowTimestamp1, Sort sortByStart);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByItem_Owner_IdAndEndBefore(long userId, LocalDateTime nowTimestamp, Sort sortByStart);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByItem_Owner_IdAndStartAfter(long userId, LocalDateTime nowTimestamp, Sort sortByStart);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findByItem_Owner_IdAndStatus(long userId, BookingStatus bookingStatus, Sort sortByStart);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"item", "booker"})
-    List<Booking> findAllByItem_Id(long id);
+    /**
+     * Окончание бронирования вещи с самым поздним началом до endOfNew. Блокирующие бронирования одной вещи
+     * не пересекаются, поэтому их окончания упорядочены так же, как начала, и новый период пересекается
+     * с каким-либо из них, только если пересекается с этим. Один спуск по индексу (item_id, start_timestamp)
+     * вместо просмотра всех более ранних бронирований.
+     */
+    @Query("""
+            SELECT b.end FROM Booking b
+            WHERE b.item.id = ?1 AND b.status IN ?2 AND b.start < ?3
+            ORDER BY b.item.id DESC, b.start DESC
+            LIMIT 1
+            """)
+    Optional<LocalDateTime> findLatestEndStartingBefore(long itemId, Collection<BookingStatus> statuses,
+                                                        LocalDateTime endOfNew);
 
     Long countByBooker_IdAndStatusAndEndBefore(Long bookerId, BookingStatus status, LocalDateTime end);
 }
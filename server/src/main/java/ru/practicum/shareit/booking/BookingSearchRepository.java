@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.common.web.TimestampCursor;
+
+import java.time.LocalDateTime;
+
+public interface BookingSearchRepository {
+    Window<BookingView> search(BookingRole role, BookingState state, long userId, LocalDateTime now,
+                               TimestampCursor cursor, int size);
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.common.web.TimestampCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class BookingSearchRepositoryImpl implements BookingSearchRepository {
+
+    // Выбираем только поля для ответа, без загрузки сущностей в контекст персистентности
+    private static final String SELECT_VIEW = """
+            SELECT new ru.practicum.shareit.booking.dto.BookingView(
+                b.id, b.start, b.end, b.status, i.id, i.name, u.id, u.name)
+            FROM Booking b JOIN b.item i JOIN b.booker u
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Запрос собирается строкой JPQL из роли, состояния и наличия курсора: различных строк не больше 24,
+     * и Hibernate переводит каждую в SQL один раз, а дальше берёт план из кэша. Запрос Criteria API
+     * переводился бы заново при каждом вызове.
+     */
+    @Override
+    public Window<BookingView> search(BookingRole role, BookingState state, long userId, LocalDateTime now,
+                                      TimestampCursor cursor, int size) {
+        StringBuilder jpql = new StringBuilder(SELECT_VIEW).append(switch (role) {
+            case BOOKER -> "WHERE u.id = :userId";
+            case OWNER -> "WHERE i.owner.id = :userId";
+        });
+        BookingStatus status = null;
+        switch (state) {
+            case CURRENT -> jpql.append(" AND b.start < :now AND b.end > :now");
+            case PAST -> jpql.append(" AND b.end < :now");
+            case FUTURE -> jpql.append(" AND b.start > :now");
+            case WAITING -> status = BookingStatus.WAITING;
+            case REJECTED -> status = BookingStatus.REJECTED;
+            default -> {
+            }
+        }
+        if (status != null) {
+            jpql.append(" AND b.status = :status");
+        }
+        if (cursor != null) {
+            jpql.append(" AND (b.start > :cursorStart OR b.start = :cursorStart AND b.id > :cursorId)");
+        }
+        jpql.append(" ORDER BY b.start, b.id");
+
+        TypedQuery<BookingView> query = entityManager.createQuery(jpql.toString(), BookingView.class)
+                .setParameter("userId", userId);
+        if (state == BookingState.CURRENT || state == BookingState.PAST || state == BookingState.FUTURE) {
+            query.setParameter("now", now);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (cursor != null) {
+            query.setParameter("cursorStart", cursor.timestamp())
+                    .setParameter("cursorId", cursor.id());
+        }
+
+        // Запрашиваем на одну запись больше, чтобы понять, есть ли следующая страница
+        List<BookingView> bookings = query.setMaxResults(size + 1).getResultList();
+        boolean hasNext = bookings.size() > size;
+        List<BookingView> content = hasNext ? bookings.subList(0, size) : bookings;
+
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(
+                "start", content.get(index).start(),
+                "id", content.get(index).id())), hasNext);
+    }
+}
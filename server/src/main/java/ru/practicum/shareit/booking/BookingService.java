@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
+import ru.practicum.shareit.common.web.TimestampCursor;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingService {
@@ -12,7 +15,9 @@ public interface BookingService {
 
     BookingDto specificBooking(long bookingId, long userId);
 
-    List<BookingDto> getAllBookings(BookingState state, long userId);
+    List<BookingDto> findAllById(Collection<Long> bookingIds, long userId);
 
-    List<BookingDto> getAllBookingsOfUserItems(BookingState state, long userId);
+    Window<BookingDto> getAllBookings(BookingState state, long userId, TimestampCursor cursor, int size);
+
+    Window<BookingDto> getAllBookingsOfUserItems(BookingState state, long userId, TimestampCursor cursor, int size);
 }
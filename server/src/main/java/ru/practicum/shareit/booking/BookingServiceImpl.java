@@ -1,11 +1,14 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
+import ru.practicum.shareit.common.web.TimestampCursor;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.IncorrectOwnerException;
 import ru.practicum.shareit.exception.NotAvailableItemException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -15,8 +18,16 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.exception.NotFoundException.notFoundException;
 
@@ -29,6 +40,12 @@ public class BookingServiceImpl implements BookingService {
     private static final String ITEM_NOT_FOUND_MESSAGE = "Вещь с идентификатором {0} не найдена";
     private static final String ITEM_NOT_AVAILABLE_MESSAGE = "Вещь с идентификатором {0} не найдена";
     private static final String BOOKING_NOT_FOUND_MESSAGE = "Бронирование с идентификатором {0} не найдено";
+    private static final String BOOKING_ACCESS_DENIED_MESSAGE = "Переданный идентификатор не имеет доступ к выполнению данной операции";
+    private static final String BOOKING_OVERLAP_MESSAGE = "Вещь с идентификатором {0} уже забронирована на период с {1} по {2}";
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
 
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
@@ -39,15 +56,27 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public BookingDto create(BookingInputRequest bookingInputRequest) {
         checkStartAndEnd(bookingInputRequest.getStart(), bookingInputRequest.getEnd());
-        Item item = itemRepository.findById(bookingInputRequest.getItemId())
+        // Блокируем строку вещи, чтобы параллельные бронирования одной вещи проверялись последовательно
+        Item item = itemRepository.findByIdForUpdate(bookingInputRequest.getItemId())
                 .orElseThrow(notFoundException(ITEM_NOT_FOUND_MESSAGE, bookingInputRequest.getItemId()));
         User user = userRepository.findById(bookingInputRequest.getBookerId())
                 .orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, bookingInputRequest.getBookerId()));
         if (!item.getAvailable()) {
             throw new NotAvailableItemException(ITEM_NOT_AVAILABLE_MESSAGE, item.getId());
         }
+        checkOverlap(item.getId(), bookingInputRequest.getStart(), bookingInputRequest.getEnd());
         Booking booking = BookingMapper.mapToModel(bookingInputRequest, user, item);
-        booking = bookingRepository.save(booking);
+        try {
+            booking = bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            // На PostgreSQL пересечение дополнительно запрещает ограничение ex_bookings_item_period
+            if (e.getMostSpecificCause() instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                throw new BookingOverlapException(BOOKING_OVERLAP_MESSAGE, item.getId(),
+                        bookingInputRequest.getStart(), bookingInputRequest.getEnd());
+            }
+            throw e;
+        }
         item.setRequestId(booking.getId());
         itemRepository.save(item);
         return BookingMapper.mapToDto(booking);
@@ -61,6 +90,11 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getItem().getOwner().getId() != userId) {
             throw new IncorrectOwnerException("Переданный идентификатор не имеет доступ к выполнению данной операции");
         }
+        if (approved && !BLOCKING_STATUSES.contains(booking.getStatus())) {
+            // Снова одобряемое бронирование занимает период заново: проверяем его так же, как при создании
+            itemRepository.findByIdForUpdate(booking.getItem().getId());
+            checkOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        }
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         bookingRepository.save(booking);
         return BookingMapper.mapToDto(booking);
@@ -70,35 +104,40 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto specificBooking(long bookingId, long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(notFoundException(BOOKING_NOT_FOUND_MESSAGE, bookingId));
-        if (booking.getItem().getOwner().getId() != userId && booking.getBooker().getId() != userId) {
-            throw new NotAvailableItemException("Переданный идентификатор не имеет доступ к выполнению данной операции");
-        }
+        checkAccess(booking, userId);
         return BookingMapper.mapToDto(booking);
     }
 
+    /**
+     * Бронирования в порядке переданных идентификаторов; несуществующие идентификаторы пропускаются.
+     * Как и при запросе одного бронирования, каждое доступно только автору и владельцу вещи.
+     */
+    @Override
+    public List<BookingDto> findAllById(Collection<Long> bookingIds, long userId) {
+        Map<Long, Booking> bookings = bookingRepository.findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        return bookingIds.stream()
+                .distinct()
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .map(booking -> {
+                    checkAccess(booking, userId);
+                    return BookingMapper.mapToDto(booking);
+                })
+                .toList();
+    }
+
     @Override
-    public List<BookingDto> getAllBookings(BookingState state, long userId) {
+    public Window<BookingDto> getAllBookings(BookingState state, long userId, TimestampCursor cursor, int size) {
         userRepository.findById(userId)
                 .orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, userId));
 
-        LocalDateTime nowTimestamp = LocalDateTime.now();
-        Sort sortByStart = Sort.by(Sort.Direction.ASC, "start");
-
-        List<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findByBooker_Id(userId, sortByStart);
-            case CURRENT ->
-                    bookingRepository.findByBooker_IdAndStartBeforeAndEndAfter(userId, nowTimestamp, nowTimestamp, sortByStart);
-            case PAST -> bookingRepository.findByBooker_IdAndEndBefore(userId, nowTimestamp, sortByStart);
-            case FUTURE -> bookingRepository.findByBooker_IdAndStartAfter(userId, nowTimestamp, sortByStart);
-            case WAITING -> bookingRepository.findByBooker_IdAndStatus(userId, BookingStatus.WAITING, sortByStart);
-            case REJECTED -> bookingRepository.findByBooker_IdAndStatus(userId, BookingStatus.REJECTED, sortByStart);
-        };
-
-        return BookingMapper.mapToDto(bookings);
+        return bookingRepository.search(BookingRole.BOOKER, state, userId, LocalDateTime.now(), cursor, size)
+                .map(BookingMapper::mapToDto);
     }
 
     @Override
-    public List<BookingDto> getAllBookingsOfUserItems(BookingState state, long userId) {
+    public Window<BookingDto> getAllBookingsOfUserItems(BookingState state, long userId, TimestampCursor cursor, int size) {
         userRepository.findById(userId)
                 .orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, userId));
         long count = itemRepository.countItemsByOwnerIdEquals(userId);
@@ -106,21 +145,22 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Предметы для указанного пользователя не найдены");
         }
 
-        LocalDateTime nowTimestamp = LocalDateTime.now();
-        Sort sortByStart = Sort.by(Sort.Direction.ASC, "start");
-
-        List<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findByItem_Owner_Id(userId, sortByStart);
-            case CURRENT ->
-                    bookingRepository.findByItem_Owner_IdAndStartBeforeAndEndAfter(userId, nowTimestamp, nowTimestamp, sortByStart);
-            case PAST -> bookingRepository.findByItem_Owner_IdAndEndBefore(userId, nowTimestamp, sortByStart);
-            case FUTURE -> bookingRepository.findByItem_Owner_IdAndStartAfter(userId, nowTimestamp, sortByStart);
-            case WAITING -> bookingRepository.findByItem_Owner_IdAndStatus(userId, BookingStatus.WAITING, sortByStart);
-            case REJECTED ->
-                    bookingRepository.findByItem_Owner_IdAndStatus(userId, BookingStatus.REJECTED, sortByStart);
-        };
-
-        return BookingMapper.mapToDto(bookings);
+        return bookingRepository.search(BookingRole.OWNER, state, userId, LocalDateTime.now(), cursor, size)
+                .map(BookingMapper::mapToDto);
+    }
+
+    private void checkAccess(Booking booking, long userId) {
+        if (booking.getItem().getOwner().getId() != userId && booking.getBooker().getId() != userId) {
+            throw new NotAvailableItemException(BOOKING_ACCESS_DENIED_MESSAGE);
+        }
+    }
+
+    private void checkOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.findLatestEndStartingBefore(itemId, BLOCKING_STATUSES, end)
+                .filter(latestEnd -> latestEnd.isAfter(start))
+                .isPresent()) {
+            throw new BookingOverlapException(BOOKING_OVERLAP_MESSAGE, itemId, start, end);
+        }
     }
 
     private void checkStartAndEnd(LocalDateTime start, LocalDateTime end) {
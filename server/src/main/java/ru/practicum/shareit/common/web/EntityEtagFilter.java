@@ -0,0 +1,22 @@
+package ru.practicum.shareit.common.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.regex.Pattern;
+
+/**
+ * Добавляет ETag к ответам на запросы пользователя, вещи и запроса вещи по id
+ * и отвечает 304, если клиент прислал тот же ETag в If-None-Match.
+ */
+@Component
+public class EntityEtagFilter extends ShallowEtagHeaderFilter {
+
+    private static final Pattern ENTITY_PATH = Pattern.compile("^/(users|items|requests)/\\d+$");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !ENTITY_PATH.matcher(request.getRequestURI()).matches();
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.common.web;
+
+import java.time.LocalDateTime;
+
+/**
+ * Курсор keyset-пагинации по паре (момент времени, id) в виде {@code <timestamp>_<id>}:
+ * бронирования листаются по началу, запросы вещей — по дате создания.
+ */
+public record TimestampCursor(LocalDateTime timestamp, long id) {
+
+    private static final String SEPARATOR = "_";
+
+    public static TimestampCursor valueOf(String cursor) {
+        int separatorIndex = cursor.lastIndexOf(SEPARATOR);
+        if (separatorIndex <= 0) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+        }
+        return new TimestampCursor(LocalDateTime.parse(cursor.substring(0, separatorIndex)),
+                Long.parseLong(cursor.substring(separatorIndex + 1)));
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + SEPARATOR + id;
+    }
+}
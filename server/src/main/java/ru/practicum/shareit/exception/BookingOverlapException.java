@@ -0,0 +1,13 @@
+package ru.practicum.shareit.exception;
+
+import java.text.MessageFormat;
+
+public class BookingOverlapException extends RuntimeException {
+    public BookingOverlapException(String message) {
+        super(message);
+    }
+
+    public BookingOverlapException(String message, Object... args) {
+        super(MessageFormat.format(message, args));
+    }
+}
@@ -31,6 +31,13 @@ public class ExceptionsGlobalHandler {
         return new BaseErrorResponse("Такое значение уже используется.", e.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler
+    public BaseErrorResponse handleBookingOverlapException(final BookingOverlapException e) {
+        log.error(e.getMessage());
+        return new BaseErrorResponse("Вещь уже забронирована на этот период.", e.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler
     public ValidationErrorResponse handleOnConstraintValidationException(
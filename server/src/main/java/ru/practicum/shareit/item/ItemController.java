@@ -1,14 +1,24 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemEnrichedDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
 
-import java.util.Collection;
+import java.io.InputStream;
+import java.util.List;
 
 @Validated
 @RestController
@@ -18,6 +28,13 @@ public class ItemController {
 
     private static final String USER_IDENTIFICATOR_HEADER_NAME = "X-Sharer-User-Id";
     private static final String ENDPOINT_PATH_ID = "/{id}";
+    private static final String NEXT_CURSOR_HEADER_NAME = "X-Next-Cursor";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final String DEFAULT_SUGGESTIONS_SIZE = "10";
+    private static final int MAX_IDS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Поиск отдаётся смещением: глубже этой позиции листать незачем, а большие from переполняют from + size
+    private static final int MAX_SEARCH_OFFSET = 10_000;
 
     private final ItemService service;
 
@@ -28,9 +45,27 @@ public class ItemController {
         return service.create(itemDto);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResultDto importItems(InputStream body,
+                                           @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
+        return service.importItems(userId, body);
+    }
+
     @GetMapping
-    public Collection<ItemDto> findAllOnUser(@RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
-        return service.findAllItemsByUser(userId);
+    public ResponseEntity<List<ItemEnrichedDto>> findAllOnUser(@RequestParam(required = false) Long cursor,
+                                                               @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                               @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
+        Window<ItemEnrichedDto> page = service.findAllItemsByUser(userId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext() && !page.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER_NAME, String.valueOf(page.getContent().getLast().getId()));
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping(params = "ids")
+    public List<ItemEnrichedDto> findAllById(@RequestParam @Size(max = MAX_IDS) List<Long> ids) {
+        return service.findAllById(ids);
     }
 
     @GetMapping(ENDPOINT_PATH_ID)
@@ -48,8 +83,17 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> search(@RequestParam(name = "text") String text) {
-        return service.findByText(text);
+    public List<ItemDto> search(@RequestParam(name = "text") String text,
+                                @RequestParam(defaultValue = "true") boolean available,
+                                @RequestParam(defaultValue = "0") @PositiveOrZero @Max(MAX_SEARCH_OFFSET) int from,
+                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return service.findByText(text, available, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam(name = "prefix") String prefix,
+                                @RequestParam(defaultValue = DEFAULT_SUGGESTIONS_SIZE) @Positive @Max(ItemNameSuggester.MAX_SUGGESTIONS) int size) {
+        return service.suggest(prefix, size);
     }
 
     @PostMapping(ENDPOINT_PATH_ID + "/comment")
@@ -1,21 +1,31 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemEnrichedDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 
+import java.io.InputStream;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDto create(ItemDto itemDto);
 
-    Collection<ItemDto> findAllItemsByUser(long userId);
+    Window<ItemEnrichedDto> findAllItemsByUser(long userId, Long cursor, int size);
 
     ItemEnrichedDto findById(long id);
 
+    List<ItemEnrichedDto> findAllById(Collection<Long> ids);
+
     ItemDto update(ItemDto itemDto);
 
-    Collection<ItemDto> findByText(String text);
+    ItemImportResultDto importItems(long ownerId, InputStream ndjson);
+
+    List<ItemDto> findByText(String text, boolean onlyAvailable, int from, int size);
+
+    List<String> suggest(String prefix, int size);
 
     CommentDto createComment(CommentDto commentDto, long itemId, long userId);
 }
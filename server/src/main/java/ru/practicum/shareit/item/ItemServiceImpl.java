@@ -1,28 +1,42 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.ItemBookingDate;
 import ru.practicum.shareit.exception.NotAvailableItemException;
+import ru.practicum.shareit.item.bulk.ItemBulkImporter;
 import ru.practicum.shareit.item.dal.CommentRepository;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemEnrichedDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.exception.NotFoundException.notFoundException;
@@ -33,11 +47,15 @@ import static ru.practicum.shareit.exception.NotFoundException.notFoundException
 public class ItemServiceImpl implements ItemService {
 
     private static final String USER_NOT_FOUND_MESSAGE = "Пользователь с идентификатором {0} не найден";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemBulkImporter itemBulkImporter;
 
     @Override
     @Transactional
@@ -46,38 +64,74 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, itemDto.getOwnerId()));
         Item item = ItemMapper.mapToModel(itemDto, user);
         item = itemRepository.save(item);
-        return ItemMapper.mapToDto(item);
+        ItemDto result = ItemMapper.mapToDto(item);
+        itemSearchEngine.index(result);
+        itemNameSuggester.index(result);
+        return result;
     }
 
     @Override
-    public Collection<ItemDto> findAllItemsByUser(long userId) {
+    public Window<ItemEnrichedDto> findAllItemsByUser(long userId, Long cursor, int size) {
         User user = userRepository.findById(userId).orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, userId));
-        return itemRepository.findByOwnerIdEquals(user.getId())
-                .stream().map(ItemMapper::mapToDto).collect(Collectors.toList());
+        List<Item> items = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(user.getId(),
+                cursor == null ? 0L : cursor, Limit.of(size + 1));
+        boolean hasNext = items.size() > size;
+        List<Item> page = hasNext ? items.subList(0, size) : items;
+        if (page.isEmpty()) {
+            return Window.from(List.of(), ScrollPosition::offset);
+        }
+
+        List<ItemEnrichedDto> content = enrich(page);
+        return Window.from(content, index -> ScrollPosition.forward(Map.of("id", content.get(index).getId())), hasNext);
     }
 
+    /**
+     * Вещи в порядке переданных идентификаторов; несуществующие идентификаторы пропускаются.
+     */
     @Override
-    public ItemEnrichedDto findById(long id) {
-        Item item = itemRepository.findById(id).orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, id));
-        List<Booking> bookings = bookingRepository.findAllByItem_Id(id);
-        List<String> comments = commentRepository.findByItem_Id(id).stream().map(Comment::getText).toList();
-        if (bookings.isEmpty()) {
-            return ItemMapper.mapToEnrichedDto(item, comments);
-        }
-        Booking lastBooking = bookings.stream()
-                .filter(t -> t.getEnd().isAfter(LocalDateTime.now())).findFirst().orElse(null);
-        if (lastBooking == null) {
-            return ItemMapper.mapToEnrichedDto(item, comments);
-        }
-        LocalDateTime nextBooking = bookings.stream()
-                .map(Booking::getStart)
-                .filter(u -> u.isAfter(lastBooking.getEnd())).findFirst().orElse(null);
+    public List<ItemEnrichedDto> findAllById(Collection<Long> ids) {
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> found = ids.stream()
+                .distinct()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return found.isEmpty() ? List.of() : enrich(found);
+    }
 
-        return ItemMapper.mapToDto(item, lastBooking.getEnd(), nextBooking, comments);
+    /**
+     * Бронирования и комментарии подгружаются пакетно для всех вещей, а не отдельным запросом на вещь.
+     */
+    private List<ItemEnrichedDto> enrich(List<Item> items) {
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, LocalDateTime> lastBookings = bookingRepository.findLastBookingEnds(itemIds, BookingStatus.APPROVED, now)
+                .stream().collect(Collectors.toMap(ItemBookingDate::itemId, ItemBookingDate::date, (a, b) -> a));
+        Map<Long, LocalDateTime> nextBookings = bookingRepository.findNextBookingStarts(itemIds, BookingStatus.APPROVED, now)
+                .stream().collect(Collectors.toMap(ItemBookingDate::itemId, ItemBookingDate::date));
+        Map<Long, List<String>> comments = commentRepository.findTextsByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentView::itemId,
+                        Collectors.mapping(CommentView::text, Collectors.toList())));
+
+        return items.stream()
+                .map(item -> ItemMapper.mapToDto(item, lastBookings.get(item.getId()), nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), List.of())))
+                .toList();
     }
 
+    @Override
+    public ItemEnrichedDto findById(long id) {
+        Item item = itemRepository.findById(id).orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, id));
+        List<String> comments = commentRepository.findTextsByItemId(id);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastBooking = bookingRepository.findLastBookingEnd(id, BookingStatus.APPROVED, now).orElse(null);
+        LocalDateTime nextBooking = bookingRepository.findNextBookingStart(id, BookingStatus.APPROVED, now).orElse(null);
+        return ItemMapper.mapToDto(item, lastBooking, nextBooking, comments);
+    }
 
     @Override
+    @Transactional
     public ItemDto update(ItemDto itemDto) {
         User user = userRepository.findById(itemDto.getOwnerId())
                 .orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, itemDto.getOwnerId()));
@@ -85,17 +139,39 @@ public class ItemServiceImpl implements ItemService {
         Item oldItem = itemRepository.findById(item.getId())
                 .orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, item.getId()));
         Item result = update(oldItem, item);
-        itemRepository.save(result);
-        return ItemMapper.mapToDto(result);
+        boolean searchableChanged = !Objects.equals(oldItem.getName(), result.getName())
+                || !Objects.equals(oldItem.getDescription(), result.getDescription())
+                || !Objects.equals(oldItem.getAvailable(), result.getAvailable());
+        ItemDto resultDto = ItemMapper.mapToDto(itemRepository.save(result));
+        if (searchableChanged) {
+            itemSearchEngine.index(resultDto);
+            itemNameSuggester.index(resultDto);
+        }
+        return resultDto;
     }
 
+    /**
+     * Каждая пачка импорта фиксируется в своей транзакции, поэтому общей транзакции здесь нет.
+     */
     @Override
-    public Collection<ItemDto> findByText(String text) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ItemImportResultDto importItems(long ownerId, InputStream ndjson) {
+        return itemBulkImporter.importItems(ownerId, ndjson);
+    }
+
+    @Override
+    public List<ItemDto> findByText(String text, boolean onlyAvailable, int from, int size) {
         if (text.isBlank()) {
-            return Collections.emptyList();
+            return List.of();
         }
-        return itemRepository.findTextNameAndDescription(text)
-                .stream().map(ItemMapper::mapToDto).collect(Collectors.toList());
+        // Нормализованный текст служит и ключом кэша поиска
+        String normalized = WHITESPACE.matcher(text.strip().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return itemSearchEngine.search(normalized, onlyAvailable, from, size);
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        return itemNameSuggester.suggest(prefix, size);
     }
 
     @Override
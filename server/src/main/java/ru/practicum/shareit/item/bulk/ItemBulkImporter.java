@@ -0,0 +1,219 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Импорт вещей одного владельца из NDJSON: одна строка — один объект вещи.
+ * Вход читается потоком, вещи сохраняются пачками по hibernate.jdbc.batch_size, каждая пачка — в своей транзакции.
+ * Идентификаторы выдаёт последовательность с шагом выделения, поэтому Hibernate отправляет INSERT пакетами JDBC.
+ * Некорректная строка не прерывает импорт: в результате для неё возвращается ошибка.
+ * Если база отклонила пачку, её строки сохраняются по одной, и ошибку получает только строка, которую база не приняла.
+ */
+@Slf4j
+@Component
+public class ItemBulkImporter {
+
+    public static final int MAX_REPORTED_ROWS = 10_000;
+
+    private static final String USER_NOT_FOUND_MESSAGE = "Пользователь с идентификатором {0} не найден";
+    private static final String MALFORMED_ROW_MESSAGE = "Строка не является JSON-объектом вещи: {0}";
+    private static final String SAVE_FAILED_MESSAGE = "Вещь не удалось сохранить в базе данных";
+
+    private final UserRepository userRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemNameSuggester itemNameSuggester;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader itemReader;
+    private final Validator validator;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ItemBulkImporter(UserRepository userRepository, ItemSearchEngine itemSearchEngine,
+                            ItemNameSuggester itemNameSuggester, TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper, Validator validator,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}") int batchSize) {
+        this.userRepository = userRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.itemNameSuggester = itemNameSuggester;
+        this.transactionTemplate = transactionTemplate;
+        this.itemReader = objectMapper.readerFor(ItemDto.class);
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    public ItemImportResultDto importItems(long ownerId, InputStream ndjson) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new NotFoundException(USER_NOT_FOUND_MESSAGE, ownerId);
+        }
+
+        ImportReport report = new ImportReport();
+        // Строки копятся в порядке чтения вместе с ошибками разбора и проверки, чтобы отчёт шёл по номерам строк
+        List<PendingRow> pending = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                pending.add(parse(lineNumber, line));
+                if (pending.size() == batchSize) {
+                    flush(ownerId, pending, report);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!pending.isEmpty()) {
+            flush(ownerId, pending, report);
+        }
+
+        log.info("Импортировано вещей пользователя {}: {}, с ошибками: {}", ownerId, report.created, report.failed);
+        return report.toDto();
+    }
+
+    private PendingRow parse(int lineNumber, String line) {
+        ItemDto itemDto;
+        try {
+            itemDto = itemReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return PendingRow.failed(lineNumber, MessageFormat.format(MALFORMED_ROW_MESSAGE, e.getOriginalMessage()));
+        }
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+        if (!violations.isEmpty()) {
+            return PendingRow.failed(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new PendingRow(lineNumber, itemDto, null);
+    }
+
+    private void flush(long ownerId, List<PendingRow> pending, ImportReport report) {
+        List<PendingRow> valid = pending.stream().filter(row -> row.itemDto() != null).toList();
+        Map<Integer, Long> ids = new HashMap<>();
+        try {
+            List<Long> saved = save(ownerId, valid.stream().map(PendingRow::itemDto).toList());
+            for (int i = 0; i < valid.size(); i++) {
+                ids.put(valid.get(i).line(), saved.get(i));
+            }
+        } catch (PersistenceException e) {
+            // Пачка откатилась целиком: её строки сохраняются по одной, чтобы ошибку получила только виновная строка
+            log.warn("Пачка импорта вещей пользователя {} не сохранена, строки сохраняются по одной", ownerId, e);
+            for (PendingRow row : valid) {
+                try {
+                    ids.put(row.line(), save(ownerId, List.of(row.itemDto())).getFirst());
+                } catch (PersistenceException rowException) {
+                    log.warn("Строка {} импорта вещей пользователя {} не сохранена", row.line(), ownerId, rowException);
+                }
+            }
+        }
+        for (PendingRow row : pending) {
+            if (row.itemDto() == null) {
+                report.add(ItemImportRowDto.failed(row.line(), row.error()));
+            } else if (ids.containsKey(row.line())) {
+                report.add(ItemImportRowDto.created(row.line(), ids.get(row.line())));
+            } else {
+                report.add(ItemImportRowDto.failed(row.line(), SAVE_FAILED_MESSAGE));
+            }
+        }
+        pending.clear();
+    }
+
+    private List<Long> save(long ownerId, List<ItemDto> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> {
+            User owner = entityManager.getReference(User.class, ownerId);
+            List<Item> items = new ArrayList<>(batch.size());
+            for (ItemDto itemDto : batch) {
+                // Идентификатор и владелец задаются сервером, а не строкой импорта
+                itemDto.setId(null);
+                itemDto.setOwnerId(ownerId);
+                Item item = ItemMapper.mapToModel(itemDto, owner);
+                entityManager.persist(item);
+                items.add(item);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            List<ItemDto> result = ItemMapper.mapToDto(items);
+            itemSearchEngine.indexAll(result);
+            itemNameSuggester.indexAll(result);
+            return result.stream().map(ItemDto::getId).toList();
+        });
+    }
+
+    private record PendingRow(int line, ItemDto itemDto, String error) {
+
+        static PendingRow failed(int line, String error) {
+            return new PendingRow(line, null, error);
+        }
+    }
+
+    /**
+     * Счётчики считают все строки, а построчный отчёт ограничен MAX_REPORTED_ROWS,
+     * чтобы память на импорт не росла вместе с размером входа.
+     */
+    private static final class ImportReport {
+        private final List<ItemImportRowDto> rows = new ArrayList<>();
+        private int created;
+        private int failed;
+        private boolean truncated;
+
+        void add(ItemImportRowDto row) {
+            if (row.id() != null) {
+                created++;
+            } else {
+                failed++;
+            }
+            if (rows.size() < MAX_REPORTED_ROWS) {
+                rows.add(row);
+            } else {
+                truncated = true;
+            }
+        }
+
+        ItemImportResultDto toDto() {
+            return new ItemImportResultDto(created, failed, truncated, rows);
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package ru.practicum.shareit.item.dal;
 
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @EntityGraph(type = EntityGraph.EntityGraphType.LOAD, attributePaths = {"user", "item"})
-    List<Comment> findByItem_Id(long id);
+
+    /**
+     * Отдельно от findTextsByItemIds: Hibernate не кэширует разбор запроса, если параметр IN связан с коллекцией.
+     */
+    @Query("SELECT c.text FROM Comment c WHERE c.item.id = ?1 ORDER BY c.created ASC")
+    List<String> findTextsByItemId(long itemId);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.CommentView(c.item.id, c.text) FROM Comment c
+            WHERE c.item.id IN ?1
+            ORDER BY c.created ASC
+            """)
+    List<CommentView> findTextsByItemIds(Collection<Long> itemIds);
 }
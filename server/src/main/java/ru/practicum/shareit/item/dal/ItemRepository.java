@@ -1,30 +1,55 @@
 package ru.practicum.shareit.item.dal;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Collection<Item> findByOwnerIdEquals(long ownerId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT it FROM Item it WHERE it.id = ?1")
+    Optional<Item> findByIdForUpdate(long id);
+
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(long ownerId, long id, Limit limit);
+
+    List<Item> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
 
     @Query("""
             SELECT it FROM Item it
-            WHERE (LOWER(it.name) LIKE LOWER(?1) OR LOWER(it.description) LIKE LOWER(?1)) AND it.available = true
+            WHERE (LOWER(it.name) LIKE LOWER(?1) ESCAPE '\\' OR LOWER(it.description) LIKE LOWER(?1) ESCAPE '\\')
+            AND (?2 = false OR it.available = true)
+            ORDER BY it.id
             """)
-    Collection<Item> findTextNameAndDescription(String text);
+    List<Item> findTextNameAndDescription(String pattern, boolean onlyAvailable, Limit limit);
+
+    @Query(value = """
+            SELECT * FROM items it
+            WHERE (it.name ILIKE ?1 OR it.description ILIKE ?1)
+            AND (?2 = false OR it.available = true)
+            ORDER BY it.id
+            OFFSET ?3 LIMIT ?4
+            """, nativeQuery = true)
+    List<Item> findTextNameAndDescriptionTrigram(String pattern, boolean onlyAvailable, int from, int size);
+
+    @Query("""
+            SELECT MIN(TRIM(it.name)) FROM Item it
+            WHERE it.available = true AND LOWER(TRIM(it.name)) LIKE ?1 ESCAPE '\\'
+            GROUP BY LOWER(TRIM(it.name))
+            ORDER BY COUNT(it) DESC, MIN(TRIM(it.name))
+            """)
+    List<String> findNamesByPrefix(String pattern, Limit limit);
 
 
     long countItemsByOwnerIdEquals(long userId);
 
     List<Item> findAllByRequestId(long requestId);
 
-    @Query("""
-            SELECT it FROM Item it
-            WHERE it.owner.id != ?1
-            """)
-    List<Item> findAllByOwnerIdNotEquals(long ownerId);
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
@@ -15,9 +16,11 @@ public class ItemDto {
     Long id;
 
     @NotBlank
+    @Size(max = 255)
     String name;
 
     @NotBlank
+    @Size(max = 255)
     String description;
 
     @NotNull
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+
+/**
+ * @param created   сколько вещей создано
+ * @param failed    сколько строк не импортировано
+ * @param truncated построчный отчёт обрезан: в rows попали только первые строки входа, счётчики при этом точные
+ */
+public record ItemImportResultDto(int created, int failed, boolean truncated, List<ItemImportRowDto> rows) {
+}
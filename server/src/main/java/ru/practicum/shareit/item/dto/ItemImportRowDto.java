@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Результат импорта одной строки: идентификатор созданной вещи или описание ошибки.
+ *
+ * @param line номер строки во входных данных, начиная с 1
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemImportRowDto(int line, Long id, String error) {
+
+    public static ItemImportRowDto created(int line, long id) {
+        return new ItemImportRowDto(line, id, null);
+    }
+
+    public static ItemImportRowDto failed(int line, String error) {
+        return new ItemImportRowDto(line, null, error);
+    }
+}
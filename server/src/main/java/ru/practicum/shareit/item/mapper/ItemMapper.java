@@ -42,18 +42,6 @@ public class ItemMapper {
                 .collect(Collectors.toList());
     }
 
-    public static ItemEnrichedDto mapToEnrichedDto(Item item, List<String> comments) {
-        return ItemEnrichedDto.builder()
-                .id(item.getId())
-                .name(item.getName())
-                .description(item.getDescription())
-                .available(item.getAvailable())
-                .ownerId(item.getOwner().getId())
-                .requestId(item.getRequestId())
-                .comments(comments)
-                .build();
-    }
-
     public static ItemEnrichedDto mapToDto(Item item, LocalDateTime lastBooking, LocalDateTime nextBooking, List<String> comments) {
         return ItemEnrichedDto.builder()
                 .id(item.getId())
@@ -13,8 +13,10 @@ import ru.practicum.shareit.user.User;
 @Table(name = "items", schema = "public")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Item {
+    // Последовательность с шагом выделения: идентификаторы известны до INSERT, поэтому вставки идут пакетами JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Подсказки прямо из таблицы вещей: медленнее дерева, зато одинаковы на всех экземплярах сервера.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.suggest.engine", havingValue = "database")
+public class DatabaseItemNameSuggester implements ItemNameSuggester {
+
+    private final ItemRepository itemRepository;
+
+    public DatabaseItemNameSuggester(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String pattern = DatabaseItemSearchEngine.escapeLike(prefix.strip().toLowerCase(Locale.ROOT)) + "%";
+        return itemRepository.findNamesByPrefix(pattern, Limit.of(Math.min(size, MAX_SUGGESTIONS)));
+    }
+
+    @Override
+    public void index(ItemDto itemDto) {
+    }
+
+    @Override
+    public void indexAll(List<ItemDto> itemDtos) {
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database")
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+
+    private static final int MATCH_CANDIDATES = 100;
+
+    private final ItemRepository itemRepository;
+    private final boolean trigramSupported;
+    private final AtomicLong generation = new AtomicLong();
+
+    public DatabaseItemSearchEngine(ItemRepository itemRepository, EntityManagerFactory entityManagerFactory) {
+        this.itemRepository = itemRepository;
+        // На PostgreSQL поиск идёт нативным ILIKE, который использует GIN-индексы pg_trgm
+        this.trigramSupported = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    static String toPattern(String text) {
+        return "%" + escapeLike(text) + "%";
+    }
+
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public List<ItemDto> search(String text, boolean onlyAvailable, int from, int size) {
+        String pattern = toPattern(text);
+        List<Item> items = trigramSupported
+                ? itemRepository.findTextNameAndDescriptionTrigram(pattern, onlyAvailable, from, size)
+                : itemRepository.findTextNameAndDescription(pattern, onlyAvailable, Limit.of(windowEnd(from, size))).stream()
+                .skip(from)
+                .toList();
+        return ItemMapper.mapToDto(items);
+    }
+
+    // from + size в int переполняется на больших смещениях, а Limit.of отрицательного числа падает с 500
+    static int windowEnd(int from, int size) {
+        return (int) Math.min((long) from + size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<ItemDto> match(String text, int size) {
+        Map<Long, Integer> scores = new HashMap<>();
+        Map<Long, Item> items = new HashMap<>();
+        for (String stem : SearchTokens.stems(text)) {
+            for (Item item : itemRepository.findTextNameAndDescription(toPattern(stem), true, Limit.of(MATCH_CANDIDATES))) {
+                scores.merge(item.getId(), 1, Integer::sum);
+                items.putIfAbsent(item.getId(), item);
+            }
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(size)
+                .map(entry -> ItemMapper.mapToDto(items.get(entry.getKey())))
+                .toList();
+    }
+
+    @Override
+    public void index(ItemDto itemDto) {
+        indexAll(List.of(itemDto));
+    }
+
+    @Override
+    public void indexAll(List<ItemDto> itemDtos) {
+        // Индекса нет, но закэшированный поиск устаревает, как только изменения станут видны в БД
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    boolean isTrigramSupported() {
+        return trigramSupported;
+    }
+}
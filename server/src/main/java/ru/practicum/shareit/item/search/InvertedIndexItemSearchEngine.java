@@ -0,0 +1,217 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index", matchIfMissing = true)
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 1;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Больший вес выше, при равном весе раньше созданная вещь
+    private static final Comparator<Map.Entry<Long, Integer>> RANKING =
+            Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    private final ItemRepository itemRepository;
+
+    // токен -> (идентификатор вещи -> вес токена в вещи)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, ItemDto> documents = new ConcurrentHashMap<>();
+    // Вещи, изменённые после фиксации во время перестроения; доступ под блокировкой объекта
+    private final Set<Long> updatedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private final AtomicLong generation = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        startRebuild();
+        try {
+            long lastId = 0L;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                for (Item item : batch) {
+                    applyRebuilt(ItemMapper.mapToDto(item));
+                    lastId = item.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            finishRebuild();
+        }
+        log.info("Search index rebuilt: {} items, {} tokens", documents.size(), postings.size());
+    }
+
+    @Override
+    public void index(ItemDto itemDto) {
+        indexAll(List.of(itemDto));
+    }
+
+    @Override
+    public void indexAll(List<ItemDto> itemDtos) {
+        // Индекс обновляется только после фиксации транзакции, чтобы откаченные изменения не попали в поиск
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    itemDtos.forEach(InvertedIndexItemSearchEngine.this::applyCommitted);
+                }
+            });
+        } else {
+            itemDtos.forEach(this::applyCommitted);
+        }
+    }
+
+    private synchronized void startRebuild() {
+        rebuilding = true;
+        updatedDuringRebuild.clear();
+    }
+
+    private synchronized void finishRebuild() {
+        rebuilding = false;
+        updatedDuringRebuild.clear();
+    }
+
+    private synchronized void applyCommitted(ItemDto itemDto) {
+        if (rebuilding) {
+            updatedDuringRebuild.add(itemDto.getId());
+        }
+        apply(itemDto);
+    }
+
+    private synchronized void applyRebuilt(ItemDto itemDto) {
+        // Перестроение идёт, пока сервер уже принимает запись: строка, прочитанная до чужой фиксации,
+        // не должна затереть более новую версию, уже попавшую в индекс после этой фиксации
+        if (!updatedDuringRebuild.contains(itemDto.getId())) {
+            apply(itemDto);
+        }
+    }
+
+    private synchronized void apply(ItemDto itemDto) {
+        ItemDto previous = documents.put(itemDto.getId(), itemDto);
+        if (previous != null) {
+            weights(previous).keySet().forEach(token -> postings.computeIfPresent(token, (key, items) -> {
+                items.remove(itemDto.getId());
+                return items.isEmpty() ? null : items;
+            }));
+        }
+        weights(itemDto).forEach((token, weight) -> postings
+                .computeIfAbsent(token, key -> new ConcurrentHashMap<>())
+                .put(itemDto.getId(), weight));
+
+        // Поколение меняется после правки индекса, чтобы поиск с новым ключом уже видел изменение
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public List<ItemDto> search(String text, boolean onlyAvailable, int from, int size) {
+        List<String> queryTokens = SearchTokens.tokenize(text);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        // Каждый токен запроса должен совпасть с префиксом хотя бы одного токена вещи
+        Map<Long, Integer> scores = null;
+        for (String queryToken : queryTokens) {
+            Map<Long, Integer> tokenScores = prefixScores(queryToken);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((itemId, score) -> score + tokenScores.get(itemId));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return ranked(scores, onlyAvailable, from, size);
+    }
+
+    @Override
+    public List<ItemDto> match(String text, int size) {
+        // В отличие от поиска, достаточно совпадения любого слова: вещи ранжируются по сумме весов совпавших слов
+        Map<Long, Integer> scores = new HashMap<>();
+        for (String stem : SearchTokens.stems(text)) {
+            prefixScores(stem).forEach((itemId, score) -> scores.merge(itemId, score, Integer::sum));
+        }
+        return ranked(scores, true, 0, size);
+    }
+
+    private Map<Long, Integer> prefixScores(String prefix) {
+        Map<Long, Integer> scores = new HashMap<>();
+        postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .forEach((token, items) -> {
+                    int bonus = token.equals(prefix) ? EXACT_MATCH_BONUS : 0;
+                    items.forEach((itemId, weight) -> scores.merge(itemId, weight + bonus, Math::max));
+                });
+        return scores;
+    }
+
+    private List<ItemDto> ranked(Map<Long, Integer> scores, boolean onlyAvailable, int from, int size) {
+        // Частое слово совпадает с десятками тысяч вещей: вместо сортировки всех совпадений
+        // куча хранит только from + size лучших, в её вершине худшая из них
+        int wanted = DatabaseItemSearchEngine.windowEnd(from, size);
+        PriorityQueue<Map.Entry<Long, Integer>> best = new PriorityQueue<>(RANKING.reversed());
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            if (best.size() >= wanted && !best.isEmpty() && RANKING.compare(entry, best.peek()) >= 0) {
+                continue;
+            }
+            ItemDto item = documents.get(entry.getKey());
+            if (item == null || onlyAvailable && !item.getAvailable()) {
+                continue;
+            }
+            best.offer(entry);
+            if (best.size() > wanted) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Integer>> page = new ArrayList<>(best);
+        page.sort(RANKING);
+        return page.stream()
+                .skip(from)
+                .map(entry -> documents.get(entry.getKey()))
+                .toList();
+    }
+
+    private static Map<String, Integer> weights(ItemDto itemDto) {
+        Map<String, Integer> weights = new HashMap<>();
+        SearchTokens.tokenize(itemDto.getName()).forEach(token -> weights.merge(token, NAME_WEIGHT, Integer::sum));
+        SearchTokens.tokenize(itemDto.getDescription()).forEach(token -> weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+        return weights;
+    }
+}
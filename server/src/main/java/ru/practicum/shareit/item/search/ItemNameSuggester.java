@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+public interface ItemNameSuggester {
+
+    int MAX_SUGGESTIONS = 10;
+
+    /**
+     * Названия доступных вещей, начинающиеся с префикса без учёта регистра; сначала самые частые.
+     */
+    List<String> suggest(String prefix, int size);
+
+    void index(ItemDto itemDto);
+
+    void indexAll(List<ItemDto> itemDtos);
+}
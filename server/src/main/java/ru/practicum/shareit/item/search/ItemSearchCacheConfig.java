@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@EnableCaching
+@Configuration
+public class ItemSearchCacheConfig {
+
+    public static final String ITEM_SEARCH_CACHE = "itemSearch";
+
+    private static final String CACHE_ENABLED_PROPERTY = "shareit.search.cache.enabled";
+
+    @Bean
+    @ConditionalOnProperty(name = CACHE_ENABLED_PROPERTY, havingValue = "true", matchIfMissing = true)
+    public CacheManager cacheManager(@Value("${shareit.search.cache.spec}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ITEM_SEARCH_CACHE);
+        cacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        cacheManager.setAllowNullValues(false);
+        // Записи не сбрасываются: после изменения поиск идёт под новым поколением индекса, старые вытесняются по размеру и сроку
+        return cacheManager;
+    }
+
+    /**
+     * Кэш живёт в памяти узла, а сбрасывается только записями этого узла. При нескольких экземплярах сервера
+     * его выключают, иначе другие узлы отдают устаревший поиск до истечения срока записи.
+     */
+    @Bean
+    @ConditionalOnProperty(name = CACHE_ENABLED_PROPERTY, havingValue = "false")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.cache.annotation.Cacheable;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    // Поколение входит в ключ: результат поиска, начатого до обновления индекса, сохраняется под старым
+    // поколением и после обновления уже не читается, даже если попал в кэш позже
+    @Cacheable(cacheNames = ItemSearchCacheConfig.ITEM_SEARCH_CACHE,
+            key = "{#root.target.generation(), #p0, #p1, #p2, #p3}")
+    List<ItemDto> search(String text, boolean onlyAvailable, int from, int size);
+
+    List<ItemDto> match(String text, int size);
+
+    void index(ItemDto itemDto);
+
+    void indexAll(List<ItemDto> itemDtos);
+
+    /**
+     * Номер версии индекса. Увеличивается после каждого применённого к поиску изменения.
+     */
+    long generation();
+}
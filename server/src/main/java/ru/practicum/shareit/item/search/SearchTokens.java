@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SearchTokens {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_STEM_TOKEN_LENGTH = 3;
+    private static final int SHORT_ENDING_TOKEN_LENGTH = 5;
+    private static final int LONG_ENDING_TOKEN_LENGTH = 7;
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    // Грубое отсечение окончаний, чтобы "дрели" в тексте запроса находило "дрель"; короткие служебные слова отбрасываются
+    static List<String> stems(String text) {
+        return tokenize(text).stream()
+                .filter(token -> token.length() >= MIN_STEM_TOKEN_LENGTH)
+                .map(SearchTokens::stem)
+                .distinct()
+                .toList();
+    }
+
+    private static String stem(String token) {
+        if (token.length() >= LONG_ENDING_TOKEN_LENGTH) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.length() >= SHORT_ENDING_TOKEN_LENGTH) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+}
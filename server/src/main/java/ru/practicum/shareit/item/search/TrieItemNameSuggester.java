@@ -0,0 +1,305 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Подсказки из префиксного дерева в памяти узла. Дерево обновляется только записями этого узла,
+ * поэтому при нескольких экземплярах сервера нужен shareit.suggest.engine=database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.suggest.engine", havingValue = "trie", matchIfMissing = true)
+public class TrieItemNameSuggester implements ItemNameSuggester {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Comparator<Node> BY_POPULARITY = Comparator.comparingInt((Node node) -> node.count).reversed()
+            .thenComparing(node -> node.name);
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    // идентификатор вещи -> название, под которым она сейчас учтена в дереве
+    private final Map<Long, String> indexedNames = new HashMap<>();
+    // Вещи, изменённые после фиксации во время перестроения; доступ под блокировкой записи
+    private final Set<Long> updatedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        setRebuilding(true);
+        try {
+            long lastId = 0L;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                applyAll(ItemMapper.mapToDto(batch), true);
+                if (!batch.isEmpty()) {
+                    lastId = batch.getLast().getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            setRebuilding(false);
+        }
+        log.info("Suggestion trie rebuilt: {} names", indexedNames.size());
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String key = prefix.strip().toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return Arrays.stream(node.top)
+                    .limit(Math.min(size, MAX_SUGGESTIONS))
+                    .map(terminal -> terminal.name)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ItemDto itemDto) {
+        indexAll(List.of(itemDto));
+    }
+
+    @Override
+    public void indexAll(List<ItemDto> itemDtos) {
+        // Дерево обновляется только после фиксации транзакции, как и поисковый индекс
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAll(itemDtos, false);
+                }
+            });
+        } else {
+            applyAll(itemDtos, false);
+        }
+    }
+
+    private void setRebuilding(boolean value) {
+        lock.writeLock().lock();
+        try {
+            rebuilding = value;
+            updatedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyAll(List<ItemDto> itemDtos, boolean rebuilt) {
+        lock.writeLock().lock();
+        try {
+            Map<Node, PathStep> touched = new IdentityHashMap<>();
+            for (ItemDto itemDto : itemDtos) {
+                // Строка, прочитанная перестроением до чужой фиксации, не должна затереть более новое название
+                if (rebuilt && updatedDuringRebuild.contains(itemDto.getId())) {
+                    continue;
+                }
+                if (!rebuilt && rebuilding) {
+                    updatedDuringRebuild.add(itemDto.getId());
+                }
+                String name = Boolean.TRUE.equals(itemDto.getAvailable()) && itemDto.getName() != null
+                        && !itemDto.getName().isBlank() ? itemDto.getName().strip() : null;
+                String previous = name == null ? indexedNames.remove(itemDto.getId()) : indexedNames.put(itemDto.getId(), name);
+                if (previous != null) {
+                    update(previous, -1, touched);
+                }
+                if (name != null) {
+                    update(name, 1, touched);
+                }
+            }
+            // Лучшие подсказки пересчитываются снизу вверх только в изменённых узлах, каждый узел — один раз на пачку
+            touched.values().stream()
+                    .sorted(Comparator.comparingInt(PathStep::depth).reversed())
+                    .forEach(step -> {
+                        step.node().recomputeTop();
+                        if (step.parent() != null && step.node().isEmpty()) {
+                            step.parent().removeChild(step.key());
+                        }
+                    });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(String name, int delta, Map<Node, PathStep> touched) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Node node = root;
+        touched.putIfAbsent(root, new PathStep(root, null, '\0', 0));
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.childOrCreate(key.charAt(i));
+            touched.putIfAbsent(child, new PathStep(child, node, key.charAt(i), i + 1));
+            node = child;
+        }
+        node.count += delta;
+        if (node.count <= 0) {
+            node.count = 0;
+            node.name = null;
+        } else if (node.name == null) {
+            node.name = name;
+        }
+    }
+
+    private record PathStep(Node node, Node parent, char key, int depth) {
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Большинство узлов — звенья цепочки с единственным ребёнком: он хранится в полях узла, а отсортированные
+        // массивы, а не карты, заводятся только при ветвлении
+        private char onlyKey;
+        private Node onlyChild;
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private String name;
+        private int count;
+        private Node[] top = NO_CHILDREN;
+
+        Node child(char key) {
+            if (onlyChild != null) {
+                return onlyKey == key ? onlyChild : null;
+            }
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        Node childOrCreate(char key) {
+            Node existing = child(key);
+            if (existing != null) {
+                return existing;
+            }
+            Node node = new Node();
+            if (onlyChild == null && keys.length == 0) {
+                onlyKey = key;
+                onlyChild = node;
+                return node;
+            }
+            if (onlyChild != null) {
+                keys = new char[]{onlyKey};
+                children = new Node[]{onlyChild};
+                onlyChild = null;
+            }
+            int insertAt = -Arrays.binarySearch(keys, key) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = node;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+
+        void removeChild(char key) {
+            if (onlyChild != null) {
+                if (onlyKey == key) {
+                    onlyChild = null;
+                }
+                return;
+            }
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            if (keys.length == 2) {
+                onlyKey = keys[1 - index];
+                onlyChild = children[1 - index];
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void recomputeTop() {
+            // Массив лучших подсказок после присваивания не меняется, поэтому звено цепочки без своего названия
+            // ссылается на массив ребёнка, а не копирует его
+            if (onlyChild != null && name == null) {
+                top = onlyChild.top;
+                return;
+            }
+            Node[][] sources = new Node[(name != null ? 1 : 0) + (onlyChild != null ? 1 : 0) + children.length][];
+            int sourceCount = 0;
+            if (name != null) {
+                sources[sourceCount++] = new Node[]{this};
+            }
+            if (onlyChild != null) {
+                sources[sourceCount++] = onlyChild.top;
+            }
+            for (Node child : children) {
+                sources[sourceCount++] = child.top;
+            }
+            // Массивы детей уже упорядочены: достаточно слить их начала, а не сортировать всех кандидатов
+            int[] positions = new int[sourceCount];
+            Node[] merged = new Node[MAX_SUGGESTIONS];
+            int size = 0;
+            while (size < MAX_SUGGESTIONS) {
+                int best = -1;
+                for (int i = 0; i < sourceCount; i++) {
+                    if (positions[i] < sources[i].length && (best < 0
+                            || BY_POPULARITY.compare(sources[i][positions[i]], sources[best][positions[best]]) < 0)) {
+                        best = i;
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                merged[size++] = sources[best][positions[best]++];
+            }
+            top = size == MAX_SUGGESTIONS ? merged : Arrays.copyOf(merged, size);
+        }
+
+        boolean isEmpty() {
+            return name == null && onlyChild == null && children.length == 0;
+        }
+    }
+}
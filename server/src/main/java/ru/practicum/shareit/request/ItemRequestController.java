@@ -1,19 +1,30 @@
 package ru.practicum.shareit.request;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.web.TimestampCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
 
     private static final String USER_IDENTIFICATOR_HEADER_NAME = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER_NAME = "X-Next-Cursor";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final ItemRequestService service;
 
@@ -27,13 +38,23 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDto> findAll(@RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
-        return service.findItemsOfUser(userId);
+    public List<ItemRequestDto> findAll(@RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                        @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
+        return service.findItemsOfUser(userId, from, size);
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> findAllNotUser(@RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
-        return service.findItemsNotUser(userId);
+    public ResponseEntity<List<ItemRequestDto>> findAllNotUser(@RequestParam(required = false) TimestampCursor cursor,
+                                                               @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                               @RequestHeader(name = USER_IDENTIFICATOR_HEADER_NAME) Long userId) {
+        Window<ItemRequestDto> page = service.findItemsNotUser(userId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext() && !page.isEmpty()) {
+            ItemRequestDto last = page.getContent().getLast();
+            response.header(NEXT_CURSOR_HEADER_NAME, new TimestampCursor(last.getCreated(), last.getId()).toString());
+        }
+        return response.body(page.getContent());
     }
 
     @GetMapping("/{request-id}")
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.request;
+
+public record ItemRequestCreatedEvent(long requestId, long requestorId, String description) {
+}
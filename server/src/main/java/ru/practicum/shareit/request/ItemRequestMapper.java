@@ -29,18 +29,16 @@ public class ItemRequestMapper {
                 .build();
     }
 
-    public static List<ItemRequestDto> mapToDto(Map<Long, ItemRequest> itemRequests, Map<Long, List<ItemDto>> items) {
+    public static ItemRequestDto mapToDto(ItemRequest itemRequest, List<ItemDto> items, List<ItemDto> suggestions) {
+        ItemRequestDto itemRequestDto = mapToDto(itemRequest, items);
+        itemRequestDto.setSuggestions(suggestions);
+        return itemRequestDto;
+    }
+
+    public static List<ItemRequestDto> mapToDto(List<ItemRequest> itemRequests, Map<Long, List<ItemDto>> items) {
         List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
-        for (Map.Entry<Long, ItemRequest> itemRequestEntry : itemRequests.entrySet()) {
-            ItemRequest itemRequest = itemRequestEntry.getValue();
-            ItemRequestDto itemRequestDto = ItemRequestDto.builder()
-                    .id(itemRequest.getId())
-                    .description(itemRequest.getDescription())
-                    .requestor(itemRequest.getRequestor().getId())
-                    .created(itemRequest.getCreated())
-                    .items(items.get(itemRequest.getId()))
-                    .build();
-            itemRequestDtos.add(itemRequestDto);
+        for (ItemRequest itemRequest : itemRequests) {
+            itemRequestDtos.add(mapToDto(itemRequest, items.getOrDefault(itemRequest.getId(), List.of())));
         }
         return itemRequestDtos;
     }
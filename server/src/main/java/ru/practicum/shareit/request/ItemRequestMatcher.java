@@ -0,0 +1,48 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemRequestMatcher {
+
+    static final int MAX_SUGGESTIONS = 5;
+
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemRequestSuggestionRepository suggestionRepository;
+
+    // Подбор идёт в фоне после фиксации запроса в собственном пуле и не задерживает ответ на POST /requests
+    @Async(ItemRequestMatcherConfig.MATCHER_EXECUTOR)
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onItemRequestCreated(ItemRequestCreatedEvent event) {
+        List<ItemDto> candidates = itemSearchEngine.match(event.description(), MAX_SUGGESTIONS * 2).stream()
+                .filter(item -> item.getOwnerId() != event.requestorId())
+                .limit(MAX_SUGGESTIONS)
+                .toList();
+
+        List<ItemRequestSuggestion> suggestions = new ArrayList<>();
+        for (int rank = 0; rank < candidates.size(); rank++) {
+            suggestions.add(ItemRequestSuggestion.builder()
+                    .requestId(event.requestId())
+                    .itemId(candidates.get(rank).getId())
+                    .rank(rank)
+                    .build());
+        }
+        suggestionRepository.deleteByRequestId(event.requestId());
+        suggestionRepository.saveAll(suggestions);
+        log.debug("Request {} matched with {} items", event.requestId(), suggestions.size());
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Slf4j
+@Configuration
+public class ItemRequestMatcherConfig {
+
+    public static final String MATCHER_EXECUTOR = "itemRequestMatcherExecutor";
+
+    /**
+     * Отдельный ограниченный пул для подбора вещей: не больше pool-size задач одновременно занимают соединения БД,
+     * остальные ждут в очереди. Переполнение очереди отбрасывает подбор, а не задерживает поток, создающий запрос.
+     */
+    @Bean(name = MATCHER_EXECUTOR)
+    public ThreadPoolTaskExecutor itemRequestMatcherExecutor(
+            @Value("${shareit.request.matcher.pool-size:4}") int poolSize,
+            @Value("${shareit.request.matcher.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("request-matcher-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Request matching skipped: queue of {} tasks is full", queueCapacity));
+        return executor;
+    }
+}
@@ -1,16 +1,34 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequestor_Id(long userId);
+    @EntityGraph(attributePaths = "requestor")
+    Window<ItemRequest> findByRequestor_Id(long userId, ScrollPosition position, Sort sort, Limit limit);
 
+    @EntityGraph(attributePaths = "requestor")
     @Query("""
             SELECT itr FROM ItemRequest itr
             WHERE itr.requestor.id != ?1
+            ORDER BY itr.created DESC, itr.id DESC
             """)
-    List<ItemRequest> findByRequestorIdNotEqual(long userId);
+    List<ItemRequest> findByRequestorIdNotEqual(long userId, Limit limit);
+
+    @EntityGraph(attributePaths = "requestor")
+    @Query("""
+            SELECT itr FROM ItemRequest itr
+            WHERE itr.requestor.id != ?1
+            AND (itr.created < ?2 OR (itr.created = ?2 AND itr.id < ?3))
+            ORDER BY itr.created DESC, itr.id DESC
+            """)
+    List<ItemRequest> findByRequestorIdNotEqualBefore(long userId, LocalDateTime created, long id, Limit limit);
 }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.common.web.TimestampCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -7,9 +9,9 @@ import java.util.List;
 public interface ItemRequestService {
     ItemRequestDto save(ItemRequestDto itemRequestDto);
 
-    List<ItemRequestDto> findItemsOfUser(long userId);
+    List<ItemRequestDto> findItemsOfUser(long userId, int from, int size);
 
-    List<ItemRequestDto> findItemsNotUser(long userId);
+    Window<ItemRequestDto> findItemsNotUser(long userId, TimestampCursor cursor, int size);
 
     ItemRequestDto findItemRequestById(long id);
 }
@@ -1,8 +1,14 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.web.TimestampCursor;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -23,10 +29,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private static final String USER_NOT_FOUND_MESSAGE = "Пользователь с идентификатором {0} не найден";
     private static final String ITEM_REQUEST_NOT_FOUND_MESSAGE = "Запрос с идентификатором {0} не найден";
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "created", "id");
 
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
+    private final ItemRequestSuggestionRepository suggestionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -35,35 +44,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(notFoundException(USER_NOT_FOUND_MESSAGE, itemRequestDto.getRequestor()));
         ItemRequest itemRequest = ItemRequestMapper.mapToModel(itemRequestDto, user);
         itemRequest = itemRequestRepository.save(itemRequest);
+        eventPublisher.publishEvent(new ItemRequestCreatedEvent(itemRequest.getId(), user.getId(), itemRequest.getDescription()));
         List<ItemDto> items = ItemMapper.mapToDto(itemRepository.findAllByRequestId(itemRequest.getId()));
         return ItemRequestMapper.mapToDto(itemRequest, items);
     }
 
     @Override
-    public List<ItemRequestDto> findItemsOfUser(long userId) {
-        // Получили все объекты, где предметы не принадлежат юзеру
-        Map<Long, ItemRequest> itemRequests = itemRequestRepository.findByRequestor_Id(userId)
-                .stream().collect(Collectors.toMap(ItemRequest::getId, obj -> obj));
-
-        // получили все предметы, которые не принадлежат юзеру
-        Map<Long, List<ItemDto>> items = ItemMapper.mapToDto(itemRepository.findAllByOwnerIdNotEquals(userId))
-                .stream()
-                .filter(obj -> obj.getRequestId() != null)
-                .collect(Collectors.groupingBy(ItemDto::getRequestId));
-
-        return ItemRequestMapper.mapToDto(itemRequests, items);
+    public List<ItemRequestDto> findItemsOfUser(long userId, int from, int size) {
+        return mapWithItems(itemRequestRepository.findByRequestor_Id(userId, offset(from), NEWEST_FIRST, Limit.of(size))
+                .getContent());
     }
 
     @Override
-    public List<ItemRequestDto> findItemsNotUser(long userId) {
-        // Получили все объекты, где предметы не принадлежат юзеру
-        Map<Long, ItemRequest> itemRequests = itemRequestRepository.findByRequestorIdNotEqual(userId)
-                .stream().collect(Collectors.toMap(ItemRequest::getId, obj -> obj));
-        // получили все предметы, которые не принадлежат юзеру
-        Map<Long, List<ItemDto>> items = ItemMapper.mapToDto(itemRepository.findAllByOwnerIdNotEquals(userId))
-                .stream().collect(Collectors.groupingBy(ItemDto::getRequestId));
-
-        return ItemRequestMapper.mapToDto(itemRequests, items);
+    public Window<ItemRequestDto> findItemsNotUser(long userId, TimestampCursor cursor, int size) {
+        List<ItemRequest> itemRequests = cursor == null
+                ? itemRequestRepository.findByRequestorIdNotEqual(userId, Limit.of(size + 1))
+                : itemRequestRepository.findByRequestorIdNotEqualBefore(userId, cursor.timestamp(), cursor.id(), Limit.of(size + 1));
+        boolean hasNext = itemRequests.size() > size;
+        List<ItemRequestDto> content = mapWithItems(hasNext ? itemRequests.subList(0, size) : itemRequests);
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(
+                "created", content.get(index).getCreated(), "id", content.get(index).getId())), hasNext);
     }
 
     @Override
@@ -71,6 +71,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest itemRequest = itemRequestRepository.findById(id)
                 .orElseThrow(notFoundException(ITEM_REQUEST_NOT_FOUND_MESSAGE, id));
         List<ItemDto> items = ItemMapper.mapToDto(itemRepository.findAllByRequestId(itemRequest.getId()));
-        return ItemRequestMapper.mapToDto(itemRequest, items);
+        List<ItemDto> suggestions = ItemMapper.mapToDto(suggestionRepository.findSuggestedItems(itemRequest.getId()));
+        return ItemRequestMapper.mapToDto(itemRequest, items, suggestions);
+    }
+
+    // Смещение считается в записях, а не в страницах: from не обязан быть кратным size.
+    // Позиция offset(n) указывает на последнюю прочитанную запись, поэтому выборка с from начинается после from - 1
+    private static ScrollPosition offset(int from) {
+        return from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1L);
+    }
+
+    private List<ItemRequestDto> mapWithItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        // Вещи подгружаются одним запросом только для запросов текущей страницы
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).toList();
+        Map<Long, List<ItemDto>> items = ItemMapper.mapToDto(itemRepository.findAllByRequestIdIn(requestIds)).stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        return ItemRequestMapper.mapToDto(itemRequests, items);
     }
-}
\ No newline at end of file
+}
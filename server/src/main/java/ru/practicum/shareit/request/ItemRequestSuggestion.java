@@ -0,0 +1,29 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@ToString
+@Entity
+@Builder
+@Table(name = "request_suggestions", schema = "public")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemRequestSuggestion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "request_id", nullable = false)
+    Long requestId;
+
+    @Column(name = "item_id", nullable = false)
+    Long itemId;
+
+    @Column(name = "suggestion_rank", nullable = false)
+    Integer rank;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemRequestSuggestionRepository extends JpaRepository<ItemRequestSuggestion, Long> {
+
+    @Query("""
+            SELECT it FROM ItemRequestSuggestion s
+            JOIN Item it ON it.id = s.itemId
+            WHERE s.requestId = ?1 AND it.available = true
+            ORDER BY s.rank
+            """)
+    List<Item> findSuggestedItems(long requestId);
+
+    void deleteByRequestId(long requestId);
+}
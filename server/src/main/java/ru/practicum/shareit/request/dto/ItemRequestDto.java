@@ -24,4 +24,6 @@ public class ItemRequestDto {
     LocalDateTime created;
 
     List<ItemDto> items;
+
+    List<ItemDto> suggestions;
 }
@@ -1,18 +1,24 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.common.dto.BaseResponse;
 
+import java.util.List;
+
 @Slf4j
+@Validated
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 public class UserController {
 
     private static final String ENDPOINT_PATH_ID = "/{id}";
+    private static final int MAX_IDS = 100;
 
     private final UserService service;
 
@@ -26,6 +32,11 @@ public class UserController {
         return service.findById(id);
     }
 
+    @GetMapping(params = "ids")
+    public List<UserDto> findAllById(@RequestParam @Size(max = MAX_IDS) List<Long> ids) {
+        return service.findAllById(ids);
+    }
+
     @PatchMapping(ENDPOINT_PATH_ID)
     public UserDto update(@RequestBody UserDto userDto, @PathVariable Long id) {
         userDto.setId(id);
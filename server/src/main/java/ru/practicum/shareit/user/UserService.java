@@ -2,6 +2,9 @@ package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.common.dto.BaseResponse;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface UserService {
     UserDto create(UserDto userDto);
 
@@ -9,5 +12,7 @@ public interface UserService {
 
     UserDto findById(long id);
 
+    List<UserDto> findAllById(Collection<Long> ids);
+
     BaseResponse delete(long id);
 }
@@ -6,6 +6,13 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.common.dto.BaseResponse;
 import ru.practicum.shareit.exception.AlreadyExistsEmailException;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import static ru.practicum.shareit.exception.NotFoundException.notFoundException;
 
 
@@ -46,6 +53,21 @@ public class UserServiceImpl implements UserService {
         return UserMapper.mapToDto(user);
     }
 
+    /**
+     * Пользователи в порядке переданных идентификаторов; несуществующие идентификаторы пропускаются.
+     */
+    @Override
+    public List<UserDto> findAllById(Collection<Long> ids) {
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+                .distinct()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(UserMapper::mapToDto)
+                .toList();
+    }
+
     @Override
     @Transactional
     public BaseResponse delete(long id) {
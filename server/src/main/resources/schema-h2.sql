@@ -0,0 +1,4 @@
+-- H2 отменяет сортировку по индексу, только если направление ORDER BY совпадает с направлением колонок индекса,
+-- и не умеет читать индекс в обратном порядке. Без этого индекса LIMIT 1 по убыванию начала бронирования
+-- перебирал бы все бронирования вещи, PostgreSQL же читает ix_bookings_item_start_end с конца
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start_desc ON bookings (item_id DESC, start_timestamp DESC);
@@ -0,0 +1,32 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING GIN (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING GIN (description gin_trgm_ops);
+
+-- Раньше идентификаторы вещей выдавала IDENTITY-колонка. В таблице, созданной до перехода, у колонки
+-- остаётся собственный источник значений: переводим её на items_seq, как в schema.sql
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+
+-- Последовательность не должна выдать уже занятые значения
+-- и не должна откатываться назад, пока другие экземпляры сервера расходуют полученные блоки
+SELECT setval('items_seq',
+              GREATEST((SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM items_seq),
+                       (SELECT COALESCE(MAX(id), 0) + 1 FROM items)),
+              false);
+
+-- Блокирующие бронирования одной вещи не пересекаются даже при записи в обход сервиса.
+-- Ограничение создаётся один раз: тело DO в одинарных кавычках, чтобы ScriptUtils не разбил его по точкам с запятой
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_period'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_timestamp, end_timestamp) WITH &&)
+            WHERE (status IN (''WAITING'', ''APPROVED''));
+    END IF;
+END
+';
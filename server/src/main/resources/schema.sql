@@ -7,11 +7,14 @@ CREATE TABLE IF NOT EXISTS users
     CONSTRAINT uq_user_email UNIQUE (email)
 );
 
+-- Шаг совпадает с allocationSize у Item: один nextval выделяет блок из 50 идентификаторов
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS items
 (
-    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    name        VARCHAR(255)                            NOT NULL,
-    description VARCHAR(255)                            NOT NULL,
+    id          BIGINT DEFAULT nextval('items_seq') NOT NULL,
+    name        VARCHAR(255)                     NOT NULL,
+    description VARCHAR(255)                     NOT NULL,
     available   BOOLEAN,
     owner_id    BIGINT,
     request_id  BIGINT,
@@ -52,4 +55,29 @@ CREATE TABLE IF NOT EXISTS requests
     created_timestamp TIMESTAMP                               NOT NULL,
     CONSTRAINT pk_requests PRIMARY KEY (id),
     CONSTRAINT fk_requestor_id_requests FOREIGN KEY (requestor_id) REFERENCES users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS request_suggestions
+(
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    request_id      BIGINT                                  NOT NULL,
+    item_id         BIGINT                                  NOT NULL,
+    suggestion_rank INTEGER                                 NOT NULL,
+    CONSTRAINT pk_request_suggestions PRIMARY KEY (id),
+    CONSTRAINT fk_request_id_request_suggestions FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE CASCADE,
+    CONSTRAINT fk_item_id_request_suggestions FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start_end ON bookings (item_id, start_timestamp, end_timestamp);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start_id ON bookings (booker_id, start_timestamp, id);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner_id ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS ix_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_created ON requests (requestor_id, created_timestamp);
+
+CREATE INDEX IF NOT EXISTS ix_requests_created_id ON requests (created_timestamp, id);
+
+CREATE INDEX IF NOT EXISTS ix_request_suggestions_request_id ON request_suggestions (request_id, suggestion_rank);
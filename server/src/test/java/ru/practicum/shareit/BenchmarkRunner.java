@@ -0,0 +1,48 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Задержка и выделенная память на одну операцию для бенчмарков {@link ServerBenchmark}. Замеры идут над H2 в памяти,
+ * поэтому сравнивать стоит варианты между собой, а не с абсолютными числами PostgreSQL.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkRunner {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static Result measure(String name, int warmup, int iterations, Supplier<?> operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.get();
+        }
+        long[] nanos = new long[iterations];
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            operation.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Arrays.sort(nanos);
+        Result result = new Result(name, nanos[iterations / 2], nanos[(int) Math.ceil(iterations * 0.99) - 1],
+                allocated / iterations);
+        System.out.println(result);
+        return result;
+    }
+
+    public record Result(String name, long p50Nanos, long p99Nanos, long bytesPerOp) {
+
+        @Override
+        public String toString() {
+            return String.format("%-50s p50 %8.1f мкс  p99 %8.1f мкс  %9d Б/операция",
+                    name, p50Nanos / 1000.0, p99Nanos / 1000.0, bytesPerOp);
+        }
+    }
+}
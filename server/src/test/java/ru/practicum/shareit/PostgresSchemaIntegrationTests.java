@@ -0,0 +1,160 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Сервер поднимается на пустой PostgreSQL так же, как в docker-compose: схема создаётся скриптами при старте.
+ * Без Docker тесты пропускаются.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.platform=postgresql",
+        "shareit.search.engine=database"
+})
+public class PostgresSchemaIntegrationTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    public void schemaShouldBeCreatedOnEmptyDatabase() {
+
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'items'", String.class);
+
+        assertThat(indexes, hasItems("ix_items_name_trgm", "ix_items_description_trgm", "ix_items_request_id"));
+    }
+
+    @Test
+    public void itemIdsShouldComeOnlyFromSequence() {
+
+        Map<String, Object> column = jdbcTemplate.queryForMap("""
+                SELECT is_identity, column_default FROM information_schema.columns
+                WHERE table_name = 'items' AND column_name = 'id'
+                """);
+
+        assertThat(column.get("is_identity"), equalTo("NO"));
+        assertThat((String) column.get("column_default"), containsString("items_seq"));
+    }
+
+    @Test
+    public void identityColumnFromOlderSchemaShouldMoveToSequence() {
+
+        User owner = userRepository.save(User.builder().name("Owner").email("legacy-owner@mail.ru").build());
+        // Таблица в том виде, в каком её создавала прежняя schema.sql, с уже выданными идентификаторами
+        jdbcTemplate.execute("ALTER TABLE items ALTER COLUMN id DROP DEFAULT");
+        jdbcTemplate.execute("ALTER TABLE items ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY (START WITH 1000)");
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) VALUES ('Старая', 'Вещь', true, ?)",
+                owner.getId());
+        long legacyId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM items", Long.class);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("schema-postgresql.sql")).execute(dataSource);
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT is_identity FROM information_schema.columns WHERE table_name = 'items' AND column_name = 'id'
+                """, String.class), equalTo("NO"));
+        ItemDto created = itemService.create(ItemDto.builder()
+                .name("Новая")
+                .description("Вещь")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+        assertThat(created.getId(), greaterThan(legacyId));
+    }
+
+    @Test
+    public void substringSearchShouldUseTrigramQuery() {
+
+        User owner = userRepository.save(User.builder().name("Owner").email("postgres-owner@mail.ru").build());
+        ItemDto created = itemService.create(ItemDto.builder()
+                .name("Аккумуляторная дрель")
+                .description("Две батареи")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+
+        assertThat(itemService.findByText("муляторн", true, 0, 10).stream().map(ItemDto::getId).toList(),
+                contains(created.getId()));
+    }
+
+    @Test
+    public void overlappingBookingShouldBeRejectedByExclusionConstraint() {
+
+        User owner = userRepository.save(User.builder().name("Owner").email("exclusion-owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("exclusion-booker@mail.ru").build());
+        ItemDto item = itemService.create(ItemDto.builder()
+                .name("Палатка")
+                .description("Трёхместная")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+        String insert = """
+                INSERT INTO bookings (start_timestamp, end_timestamp, item_id, booker_id, status)
+                VALUES (TIMESTAMP '2030-01-01 10:00', TIMESTAMP '2030-01-01 12:00', ?, ?, ?)
+                """;
+        jdbcTemplate.update(insert, item.getId(), booker.getId(), "APPROVED");
+        // Отклонённое бронирование период не занимает
+        jdbcTemplate.update(insert, item.getId(), booker.getId(), "REJECTED");
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update(insert, item.getId(), booker.getId(), "WAITING"));
+        assertThat(exception.getMessage(), containsString("ex_bookings_item_period"));
+    }
+
+    @Test
+    public void schemaScriptsShouldBeRepeatableOnExistingDatabase() {
+
+        // Повторный старт сервера над уже заполненной БД
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("schema-postgresql.sql")).execute(dataSource);
+
+        assertThat(jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = 'items'",
+                String.class), hasItems("ix_items_name_trgm", "ix_items_description_trgm"));
+    }
+}
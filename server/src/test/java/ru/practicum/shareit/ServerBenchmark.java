@@ -0,0 +1,36 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Бенчмарк сервера над отдельной H2 в памяти со схемой и индексами из schema.sql (create-drop пересоздал бы таблицы
+ * без индексов). Не входит в обычную сборку, запуск: mvn -pl server test -Dtest=XBenchmark -Dbenchmark=true
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        // Профиль test пишет в лог каждую транзакцию, что исказило бы замеры
+        "logging.level.root=WARN",
+        "logging.level.org.springframework.orm.jpa=WARN",
+        "logging.level.org.springframework.transaction=WARN",
+        "logging.level.org.springframework.transaction.interceptor=WARN",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"
+})
+public @interface ServerBenchmark {
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingInputRequest;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Параллельные бронирования одного периода выполняются в собственных транзакциях,
+ * поэтому тест не помечен @Transactional и сам удаляет созданные данные.
+ */
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class BookingConcurrencyIntegrationTests {
+
+    private static final int THREADS = 8;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+
+    private final List<User> users = new ArrayList<>();
+    private Item item;
+
+    @AfterEach
+    public void tearDown() {
+        if (item != null) {
+            bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                    .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                    .toList());
+            itemRepository.delete(item);
+        }
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    public void concurrentCreatesForSamePeriodShouldLeaveOneBooking() throws Exception {
+
+        User owner = saveUser("concurrency-owner@mail.ru");
+        item = itemRepository.save(Item.builder()
+                .name("Байдарка")
+                .description("Двухместная")
+                .available(true)
+                .owner(owner)
+                .build());
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(saveUser("concurrency-booker-" + i + "@mail.ru"));
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (User booker : bookers) {
+                BookingInputRequest request = BookingInputRequest.builder()
+                        .itemId(item.getId())
+                        .bookerId(booker.getId())
+                        .start(start)
+                        .end(start.plusHours(2))
+                        .status(BookingStatus.WAITING)
+                        .build();
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    try {
+                        bookingService.create(request);
+                        return true;
+                    } catch (BookingOverlapException e) {
+                        return false;
+                    }
+                }));
+            }
+            ready.countDown();
+        }
+
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            created += result.get() ? 1 : 0;
+        }
+        assertThat(created, equalTo(1));
+        assertThat(bookingRepository.findLatestEndStartingBefore(item.getId(), List.of(BookingStatus.WAITING),
+                start.plusHours(2)).orElseThrow(), equalTo(start.plusHours(2)));
+    }
+
+    private User saveUser(String email) {
+        User user = userRepository.save(User.builder().name("User").email(email).build());
+        users.add(user);
+        return user;
+    }
+}
@@ -5,11 +5,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
 import ru.practicum.shareit.common.dto.CatalogDto;
+import ru.practicum.shareit.common.web.TimestampCursor;
 import ru.practicum.shareit.exception.IncorrectOwnerException;
 import ru.practicum.shareit.exception.NotFoundException;
 
@@ -21,6 +24,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -128,11 +132,25 @@ public class BookingControllerTests {
     }
 
     @Test
-    void getAllBookingsOfUserShouldReturnList() throws Exception {
+    void findAllByIdShouldReturnBookingsOfUser() throws Exception {
 
-        when(bookingService.getAllBookings(eq(BookingState.ALL), eq(bookingDto.getBooker().getId())))
+        when(bookingService.findAllById(eq(List.of(1L, 2L)), eq(bookingDto.getBooker().getId())))
                 .thenReturn(List.of(bookingDto));
 
+        mvc.perform(get(BOOKING_ENDPOINT)
+                        .header(USER_IDENTIFICATOR_HEADER_NAME, bookingDto.getBooker().getId())
+                        .param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
+    }
+
+    @Test
+    void getAllBookingsOfUserShouldReturnList() throws Exception {
+
+        when(bookingService.getAllBookings(eq(BookingState.ALL), eq(bookingDto.getBooker().getId()), isNull(), eq(20)))
+                .thenReturn(Window.from(List.of(bookingDto), ScrollPosition::offset));
+
         mvc.perform(get(BOOKING_ENDPOINT)
                         .header(USER_IDENTIFICATOR_HEADER_NAME, bookingDto.getBooker().getId())
                         .param("state", "ALL"))
@@ -144,14 +162,52 @@ public class BookingControllerTests {
     @Test
     void getAllBookingsOfUserShouldUseDefaultState() throws Exception {
 
-        when(bookingService.getAllBookings(eq(BookingState.ALL), eq(bookingDto.getBooker().getId())))
-                .thenReturn(List.of());
+        when(bookingService.getAllBookings(eq(BookingState.ALL), eq(bookingDto.getBooker().getId()), isNull(), eq(20)))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
 
         mvc.perform(get(BOOKING_ENDPOINT)
                         .header(USER_IDENTIFICATOR_HEADER_NAME, bookingDto.getBooker().getId()))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAllBookingsOfUserItemsShouldReturnNextCursorWhenPageIsFull() throws Exception {
+
+        TimestampCursor cursor = new TimestampCursor(LocalDateTime.of(2030, 1, 1, 10, 0), 7L);
+
+        when(bookingService.getAllBookingsOfUserItems(eq(BookingState.ALL), eq(1L), eq(cursor), eq(1)))
+                .thenReturn(Window.from(List.of(bookingDto), ScrollPosition::offset, true));
+
+        mvc.perform(get(BOOKING_ENDPOINT + "/owner")
+                        .header(USER_IDENTIFICATOR_HEADER_NAME, 1L)
+                        .param("cursor", cursor.toString())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string("X-Next-Cursor", new TimestampCursor(bookingDto.getStart(), bookingDto.getId()).toString()));
+    }
+
+    @Test
+    void getAllBookingsOfUserShouldRejectMalformedCursor() throws Exception {
+
+        mvc.perform(get(BOOKING_ENDPOINT)
+                        .header(USER_IDENTIFICATOR_HEADER_NAME, 1L)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllBookingsShouldRejectTooLargePageSize() throws Exception {
+
+        mvc.perform(get(BOOKING_ENDPOINT)
+                        .header(USER_IDENTIFICATOR_HEADER_NAME, 1L)
+                        .param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get(BOOKING_ENDPOINT + "/owner")
+                        .header(USER_IDENTIFICATOR_HEADER_NAME, 1L)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
 
     @Test
     void getShouldReturnNotFoundForInvalidBookingId() throws Exception {
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.BenchmarkRunner;
+import ru.practicum.shareit.ServerBenchmark;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Списки бронирований: прежние производные методы по одному на состояние, которые загружали сущности
+ * через @EntityGraph, против одного запроса BookingSearchRepository с проекцией в BookingView.
+ * Прежние методы воспроизведены здесь эквивалентным JPQL с JOIN FETCH.
+ */
+@ServerBenchmark
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class BookingListingBenchmark {
+
+    private static final int ITEMS = 50;
+    private static final int BOOKERS = 500;
+    private static final int BOOKINGS = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1_000;
+
+    private static final Map<BookingState, String> LEGACY_STATE_CONDITIONS = Map.of(
+            BookingState.ALL, "",
+            BookingState.CURRENT, " AND b.start < :now AND b.end > :now",
+            BookingState.PAST, " AND b.end < :now",
+            BookingState.FUTURE, " AND b.start > :now",
+            BookingState.WAITING, " AND b.status = ru.practicum.shareit.booking.BookingStatus.WAITING",
+            BookingState.REJECTED, " AND b.status = ru.practicum.shareit.booking.BookingStatus.REJECTED");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final BookingRepository bookingRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private long ownerId;
+    private long bookerId;
+    private LocalDateTime now;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        now = LocalDateTime.now();
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'bench-owner@mail.ru')");
+        ownerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'bench-owner@mail.ru'", Long.class);
+        List<Object[]> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(new Object[]{"Booker " + i, "bench-booker-" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", bookers);
+        List<Long> bookerIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email LIKE 'bench-booker-%' ORDER BY id", Long.class);
+        bookerId = bookerIds.getFirst();
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{"Item " + i, "Description " + i, ownerId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, true, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items WHERE owner_id = ?", Long.class, ownerId);
+
+        Random random = new Random(42);
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusHours(random.nextInt(2 * 365 * 24) - 365 * 24);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1 + random.nextInt(72))),
+                    itemIds.get(random.nextInt(ITEMS)), bookerIds.get(random.nextInt(BOOKERS)),
+                    statuses[random.nextInt(statuses.length)].name()});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO bookings (start_timestamp, end_timestamp, item_id, booker_id, status)
+                VALUES (?, ?, ?, ?, ?)
+                """, bookings);
+    }
+
+    @Test
+    void perStateFindersVersusSingleQuery() {
+        for (BookingRole role : BookingRole.values()) {
+            long userId = role == BookingRole.OWNER ? ownerId : bookerId;
+            for (BookingState state : BookingState.values()) {
+                List<BookingDto> legacy = legacy(role, state, userId, PAGE_SIZE);
+                List<BookingDto> current = current(role, state, userId, PAGE_SIZE);
+                assertEquals(legacy.stream().map(BookingDto::getId).toList(),
+                        current.stream().map(BookingDto::getId).toList());
+
+                BenchmarkRunner.measure(role + " " + state + ": производный метод", WARMUP, ITERATIONS,
+                        () -> legacy(role, state, userId, PAGE_SIZE));
+                BenchmarkRunner.measure(role + " " + state + ": один запрос", WARMUP, ITERATIONS,
+                        () -> current(role, state, userId, PAGE_SIZE));
+            }
+        }
+    }
+
+    /**
+     * /bookings и /bookings/owner: одинаковый запрос, но с загрузкой сущностей Booking, Item и User
+     * в контекст персистентности против выборки полей BookingView.
+     */
+    @Test
+    void entityHydrationVersusProjection() {
+        for (int size : new int[]{PAGE_SIZE, MAX_PAGE_SIZE}) {
+            for (BookingRole role : BookingRole.values()) {
+                long userId = role == BookingRole.OWNER ? ownerId : bookerId;
+                BenchmarkRunner.measure(role + " ALL size=" + size + ": сущности", WARMUP, ITERATIONS,
+                        () -> legacy(role, BookingState.ALL, userId, size));
+                BenchmarkRunner.measure(role + " ALL size=" + size + ": проекция", WARMUP, ITERATIONS,
+                        () -> current(role, BookingState.ALL, userId, size));
+            }
+        }
+
+        // Проекция не оставляет в контексте персистентности ни одной сущности, проверять при flush нечего
+        int managedEntities = readOnly.execute(status -> {
+            bookingRepository.search(BookingRole.OWNER, BookingState.ALL, ownerId, now, null, MAX_PAGE_SIZE);
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+        assertEquals(0, managedEntities);
+    }
+
+    private List<BookingDto> legacy(BookingRole role, BookingState state, long userId, int size) {
+        String jpql = "SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE "
+                + (role == BookingRole.OWNER ? "b.item.owner.id" : "b.booker.id") + " = :user"
+                + LEGACY_STATE_CONDITIONS.get(state)
+                + " ORDER BY b.start, b.id";
+        return readOnly.execute(status -> {
+            var query = entityManager.createQuery(jpql, Booking.class)
+                    .setParameter("user", userId)
+                    .setMaxResults(size + 1);
+            if (jpql.contains(":now")) {
+                query.setParameter("now", now);
+            }
+            List<Booking> bookings = query.getResultList();
+            return BookingMapper.mapToDto(bookings.subList(0, Math.min(size, bookings.size())));
+        });
+    }
+
+    private List<BookingDto> current(BookingRole role, BookingState state, long userId, int size) {
+        return readOnly.execute(status -> bookingRepository.search(role, state, userId, now, null, size)
+                .getContent().stream()
+                .map(BookingMapper::mapToDto)
+                .toList());
+    }
+}
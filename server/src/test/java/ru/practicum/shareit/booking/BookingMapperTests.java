@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
@@ -138,4 +139,25 @@ public class BookingMapperTests {
         assertNotNull(dtos);
         assertTrue(dtos.isEmpty());
     }
+
+    @Test
+    void shouldMapViewToDto() {
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(2);
+
+        BookingView view = new BookingView(1L, start, end, BookingStatus.WAITING,
+                2L, "Test Item", 3L, "Test User");
+
+        BookingDto dto = BookingMapper.mapToDto(view);
+
+        assertEquals(view.id(), dto.getId());
+        assertEquals(start, dto.getStart());
+        assertEquals(end, dto.getEnd());
+        assertEquals(BookingStatus.WAITING, dto.getStatus());
+        assertEquals(2L, dto.getItem().getId());
+        assertEquals("Test Item", dto.getItem().getName());
+        assertEquals(3L, dto.getBooker().getId());
+        assertEquals("Test User", dto.getBooker().getName());
+    }
 }
@@ -5,21 +5,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Window;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
+import ru.practicum.shareit.common.web.TimestampCursor;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.NotAvailableItemException;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Rollback
 @Transactional
@@ -30,6 +37,7 @@ public class BookingServiceIntegrationTests {
 
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
     private final BookingService bookingService;
 
     private BookingInputRequest bookingInputRequest;
@@ -94,4 +102,127 @@ public class BookingServiceIntegrationTests {
         assertThat(bookingSpecificDto.getEnd(), equalTo(bookingInputRequest.getEnd()));
         assertThat(bookingSpecificDto.getBooker().getId(), equalTo(user.getId()));
     }
+
+    @Test
+    public void testFindAllByIdShouldCheckAccessToEveryBooking() {
+
+        user = userRepository.save(user);
+        item = itemRepository.save(item);
+        User stranger = userRepository.save(User.builder().name("Stranger").email("stranger@mail.ru").build());
+
+        bookingInputRequest.setBookerId(user.getId());
+        bookingInputRequest.setItemId(item.getId());
+        BookingDto bookingDto = bookingService.create(bookingInputRequest);
+
+        List<BookingDto> bookings = bookingService.findAllById(List.of(bookingDto.getId(), Long.MAX_VALUE), user.getId());
+
+        assertThat(bookings.size(), equalTo(1));
+        assertThat(bookings.getFirst().getItem().getId(), equalTo(item.getId()));
+        assertThrows(NotAvailableItemException.class,
+                () -> bookingService.findAllById(List.of(bookingDto.getId()), stranger.getId()));
+    }
+
+    @Test
+    public void testCreateOverlappingBookingShouldBeRejected() {
+
+        user = userRepository.save(user);
+        item = itemRepository.save(item);
+
+        bookingInputRequest.setBookerId(user.getId());
+        bookingInputRequest.setItemId(item.getId());
+        bookingService.create(bookingInputRequest);
+
+        BookingInputRequest overlapping = BookingInputRequest.builder()
+                .start(bookingInputRequest.getStart().plusHours(12))
+                .end(bookingInputRequest.getEnd().plusHours(12))
+                .itemId(item.getId())
+                .bookerId(user.getId())
+                .build();
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(overlapping));
+    }
+
+    @Test
+    public void testCreateAdjacentBookingShouldBeAccepted() {
+
+        user = userRepository.save(user);
+        item = itemRepository.save(item);
+
+        bookingInputRequest.setStart(bookingInputRequest.getStart().truncatedTo(ChronoUnit.SECONDS));
+        bookingInputRequest.setEnd(bookingInputRequest.getEnd().truncatedTo(ChronoUnit.SECONDS));
+        bookingInputRequest.setBookerId(user.getId());
+        bookingInputRequest.setItemId(item.getId());
+        bookingService.create(bookingInputRequest);
+
+        BookingInputRequest adjacent = BookingInputRequest.builder()
+                .start(bookingInputRequest.getEnd())
+                .end(bookingInputRequest.getEnd().plusDays(1))
+                .itemId(item.getId())
+                .bookerId(user.getId())
+                .build();
+
+        assertThat(bookingService.create(adjacent).getId(), notNullValue());
+    }
+
+    @Test
+    public void testGetAllBookingsShouldPageByCursor() {
+
+        user = userRepository.save(user);
+        item = itemRepository.save(item);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            bookingService.create(BookingInputRequest.builder()
+                    .start(now.plusDays(i * 2L + 1))
+                    .end(now.plusDays(i * 2L + 2))
+                    .itemId(item.getId())
+                    .bookerId(user.getId())
+                    .build());
+        }
+
+        Window<BookingDto> firstPage = bookingService.getAllBookings(BookingState.ALL, user.getId(), null, 2);
+        assertThat(firstPage.size(), equalTo(2));
+        assertThat(firstPage.hasNext(), equalTo(true));
+
+        BookingDto last = firstPage.getContent().getLast();
+        TimestampCursor cursor = new TimestampCursor(last.getStart(), last.getId());
+        Window<BookingDto> secondPage = bookingService.getAllBookings(BookingState.ALL, user.getId(), cursor, 2);
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.hasNext(), equalTo(false));
+        assertThat(secondPage.getContent().getFirst().getStart().isAfter(cursor.timestamp()), equalTo(true));
+    }
+
+    @Test
+    public void testGetAllBookingsOfUserItemsShouldFilterByState() {
+
+        User booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("booker@gmail.com")
+                .build());
+        user = userRepository.save(user);
+        item = itemRepository.save(item);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Booking past = bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), item, booker,
+                BookingStatus.APPROVED));
+        Booking current = bookingRepository.save(new Booking(null, now.minusDays(1), now.plusDays(1), item, booker,
+                BookingStatus.APPROVED));
+        Booking future = bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3), item, booker,
+                BookingStatus.WAITING));
+
+        assertThat(bookingService.getAllBookingsOfUserItems(BookingState.ALL, user.getId(), null, 10)
+                .map(BookingDto::getId).getContent(), equalTo(List.of(past.getId(), current.getId(), future.getId())));
+        assertThat(bookingService.getAllBookingsOfUserItems(BookingState.PAST, user.getId(), null, 10)
+                .map(BookingDto::getId).getContent(), equalTo(List.of(past.getId())));
+        assertThat(bookingService.getAllBookingsOfUserItems(BookingState.CURRENT, user.getId(), null, 10)
+                .map(BookingDto::getId).getContent(), equalTo(List.of(current.getId())));
+        assertThat(bookingService.getAllBookingsOfUserItems(BookingState.FUTURE, user.getId(), null, 10)
+                .map(BookingDto::getId).getContent(), equalTo(List.of(future.getId())));
+        assertThat(bookingService.getAllBookingsOfUserItems(BookingState.WAITING, user.getId(), null, 10)
+                .map(BookingDto::getId).getContent(), equalTo(List.of(future.getId())));
+        assertThat(bookingService.getAllBookingsOfUserItems(BookingState.REJECTED, user.getId(), null, 10)
+                .isEmpty(), equalTo(true));
+        assertThat(bookingService.getAllBookings(BookingState.ALL, user.getId(), null, 10)
+                .isEmpty(), equalTo(true));
+    }
 }
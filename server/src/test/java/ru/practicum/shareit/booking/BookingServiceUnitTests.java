@@ -6,9 +6,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputRequest;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.IncorrectOwnerException;
 import ru.practicum.shareit.exception.NotAvailableItemException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -18,13 +22,18 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +56,7 @@ class BookingServiceUnitTests {
     private User booker;
     private Item item;
     private Booking booking;
+    private BookingView bookingView;
     private BookingInputRequest bookingInputRequest;
 
     @BeforeEach
@@ -80,6 +90,9 @@ class BookingServiceUnitTests {
                 .status(BookingStatus.WAITING)
                 .build();
 
+        bookingView = new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                item.getId(), item.getName(), booker.getId(), booker.getName());
+
         bookingInputRequest = BookingInputRequest.builder()
                 .itemId(1L)
                 .bookerId(2L)
@@ -91,11 +104,76 @@ class BookingServiceUnitTests {
     @Test
     void testCreateWhenItemNotFoundShouldThrowNotFoundException() {
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.create(bookingInputRequest));
     }
 
+    @Test
+    void testCreateWhenIntervalOverlapsShouldThrowBookingOverlapException() {
+
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(booker));
+        when(bookingRepository.findLatestEndStartingBefore(anyLong(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(bookingInputRequest.getStart().plusHours(1)));
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(bookingInputRequest));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCreateWhenIntervalIsFreeShouldSaveBooking() {
+
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(booker));
+        when(bookingRepository.findLatestEndStartingBefore(anyLong(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        BookingDto result = bookingService.create(bookingInputRequest);
+
+        assertEquals(booking.getId(), result.getId());
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    void testCreateWhenLatestBookingEndsAtStartShouldSaveBooking() {
+
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(booker));
+        when(bookingRepository.findLatestEndStartingBefore(anyLong(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(bookingInputRequest.getStart()));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        assertEquals(booking.getId(), bookingService.create(bookingInputRequest).getId());
+    }
+
+    @Test
+    void testCreateWhenExclusionConstraintFailsShouldThrowBookingOverlapException() {
+
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(booker));
+        when(bookingRepository.findLatestEndStartingBefore(anyLong(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(bookingRepository.save(any(Booking.class))).thenThrow(new DataIntegrityViolationException("insert",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(bookingInputRequest));
+    }
+
+    @Test
+    void testCreateWhenOtherConstraintFailsShouldRethrow() {
+
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(booker));
+        when(bookingRepository.findLatestEndStartingBefore(anyLong(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(bookingRepository.save(any(Booking.class))).thenThrow(new DataIntegrityViolationException("insert",
+                new SQLException("violates foreign key constraint", "23503")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.create(bookingInputRequest));
+    }
+
     @Test
     void testCreateWhenStartAfterEndShouldThrowStartAfterEndException() {
 
@@ -141,6 +219,19 @@ class BookingServiceUnitTests {
         verify(bookingRepository, times(1)).save(any(Booking.class));
     }
 
+    @Test
+    void testStatusChangeWhenReapprovedIntoTakenPeriodShouldThrowBookingOverlapException() {
+
+        booking.setStatus(BookingStatus.REJECTED);
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findLatestEndStartingBefore(anyLong(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(booking.getEnd()));
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.statusChange(1L, true, 1L));
+        verify(itemRepository).findByIdForUpdate(item.getId());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void testStatusChangeWhenBookingNotFoundShouldThrowNotFoundException() {
 
@@ -188,9 +279,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsWhenStateAllShouldReturnAllBookings() {
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBooker_Id(anyLong(), any(Sort.class))).thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.BOOKER), eq(BookingState.ALL), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookings(BookingState.ALL, 2L);
+        Window<BookingDto> result = bookingService.getAllBookings(BookingState.ALL, 2L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -200,10 +293,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsWhenStateCurrentShouldReturnCurrentBookings() {
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBooker_IdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.BOOKER), eq(BookingState.CURRENT), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookings(BookingState.CURRENT, 2L);
+        Window<BookingDto> result = bookingService.getAllBookings(BookingState.CURRENT, 2L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -213,10 +307,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsWhenStatePastShouldReturnPastBookings() {
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBooker_IdAndEndBefore(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.BOOKER), eq(BookingState.PAST), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookings(BookingState.PAST, 2L);
+        Window<BookingDto> result = bookingService.getAllBookings(BookingState.PAST, 2L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -226,10 +321,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsWhenStateFutureShouldReturnFutureBookings() {
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBooker_IdAndStartAfter(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.BOOKER), eq(BookingState.FUTURE), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookings(BookingState.FUTURE, 2L);
+        Window<BookingDto> result = bookingService.getAllBookings(BookingState.FUTURE, 2L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -238,10 +334,11 @@ class BookingServiceUnitTests {
     @Test
     void testGetAllBookingsWhenStateWaitingShouldReturnWaitingBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBooker_IdAndStatus(anyLong(), any(BookingStatus.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.BOOKER), eq(BookingState.WAITING), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookings(BookingState.WAITING, 2L);
+        Window<BookingDto> result = bookingService.getAllBookings(BookingState.WAITING, 2L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -250,10 +347,11 @@ class BookingServiceUnitTests {
     @Test
     void testGetAllBookingsWhenStateRejectedShouldReturnRejectedBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBooker_IdAndStatus(anyLong(), any(BookingStatus.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.BOOKER), eq(BookingState.REJECTED), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookings(BookingState.REJECTED, 2L);
+        Window<BookingDto> result = bookingService.getAllBookings(BookingState.REJECTED, 2L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -263,16 +361,18 @@ class BookingServiceUnitTests {
     void testGetAllBookingWhenUserNotFoundShouldThrowNotFoundException() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> bookingService.getAllBookings(BookingState.ALL, 1L));
+        assertThrows(NotFoundException.class, () -> bookingService.getAllBookings(BookingState.ALL, 1L, null, 10));
     }
 
     @Test
     void testGetAllBookingsOfUserItemsWhenStateAllShouldReturnAllBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRepository.countItemsByOwnerIdEquals(anyLong())).thenReturn(1L);
-        when(bookingRepository.findByItem_Owner_Id(anyLong(), any(Sort.class))).thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.OWNER), eq(BookingState.ALL), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.ALL, 1L);
+        Window<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.ALL, 1L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -282,10 +382,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsOfUserItemsWhenStateCurrentShouldReturnCurrentBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRepository.countItemsByOwnerIdEquals(anyLong())).thenReturn(1L);
-        when(bookingRepository.findByItem_Owner_IdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.OWNER), eq(BookingState.CURRENT), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.CURRENT, 1L);
+        Window<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.CURRENT, 1L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -295,10 +396,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsOfUserItemsWhenStatePastShouldReturnPastBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRepository.countItemsByOwnerIdEquals(anyLong())).thenReturn(1L);
-        when(bookingRepository.findByItem_Owner_IdAndEndBefore(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.OWNER), eq(BookingState.PAST), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.PAST, 1L);
+        Window<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.PAST, 1L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -308,10 +410,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsOfUserItemsWhenStateFutureShouldReturnFutureBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRepository.countItemsByOwnerIdEquals(anyLong())).thenReturn(1L);
-        when(bookingRepository.findByItem_Owner_IdAndStartAfter(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.OWNER), eq(BookingState.FUTURE), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.FUTURE, 1L);
+        Window<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.FUTURE, 1L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -321,10 +424,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsOfUserItemsWhenStateWaitingShouldReturnWaitingBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRepository.countItemsByOwnerIdEquals(anyLong())).thenReturn(1L);
-        when(bookingRepository.findByItem_Owner_IdAndStatus(anyLong(), any(BookingStatus.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.OWNER), eq(BookingState.WAITING), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.WAITING, 1L);
+        Window<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.WAITING, 1L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -334,10 +438,11 @@ class BookingServiceUnitTests {
     void testGetAllBookingsOfUserItemsWhenStateRejectedShouldReturnRejectedBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRepository.countItemsByOwnerIdEquals(anyLong())).thenReturn(1L);
-        when(bookingRepository.findByItem_Owner_IdAndStatus(anyLong(), any(BookingStatus.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(eq(BookingRole.OWNER), eq(BookingState.REJECTED), anyLong(),
+                any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.REJECTED, 1L);
+        Window<BookingDto> result = bookingService.getAllBookingsOfUserItems(BookingState.REJECTED, 1L, null, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -347,7 +452,7 @@ class BookingServiceUnitTests {
     void testGetAllBookingsOfUserItemsWhenUserNotFoundShouldThrowNotFoundException() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> bookingService.getAllBookingsOfUserItems(BookingState.ALL, 1L));
+        assertThrows(NotFoundException.class, () -> bookingService.getAllBookingsOfUserItems(BookingState.ALL, 1L, null, 10));
     }
 
     @Test
@@ -355,6 +460,6 @@ class BookingServiceUnitTests {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRepository.countItemsByOwnerIdEquals(anyLong())).thenReturn(0L);
 
-        assertThrows(NotFoundException.class, () -> bookingService.getAllBookingsOfUserItems(BookingState.ALL, 1L));
+        assertThrows(NotFoundException.class, () -> bookingService.getAllBookingsOfUserItems(BookingState.ALL, 1L, null, 10));
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ExceptionsGlobalHandler;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.response.BaseErrorResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingOverlapExceptionTest {
+
+    @Test
+    void shouldCreateExceptionWithMessage() {
+
+        String message = "Item already booked";
+        BookingOverlapException exception = new BookingOverlapException(message);
+
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    void shouldCreateExceptionWithFormattedMessage() {
+
+        long itemId = 456L;
+        String expectedMessage = "Item 456 is already booked";
+        BookingOverlapException exception = new BookingOverlapException(
+                "Item {0} is already booked", itemId);
+
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    @Test
+    void shouldHandleExceptionInGlobalHandler() {
+
+        ExceptionsGlobalHandler handler = new ExceptionsGlobalHandler();
+        String message = "Booking overlap check failed";
+        BookingOverlapException exception = new BookingOverlapException(message);
+
+        BaseErrorResponse response = handler.handleBookingOverlapException(exception);
+
+        assertEquals("Вещь уже забронирована на этот период.", response.error());
+        assertEquals(message, response.description());
+    }
+}
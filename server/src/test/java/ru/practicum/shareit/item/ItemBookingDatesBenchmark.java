@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.BenchmarkRunner;
+import ru.practicum.shareit.ServerBenchmark;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemEnrichedDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * lastBooking/nextBooking вещи: прежний findAllByItem_Id, который загружал все бронирования вещи вместе с item
+ * и booker и перебирал их в Java, против двух запросов LIMIT 1 в ItemService.findById.
+ * Прежний метод воспроизведён здесь эквивалентным JPQL с JOIN FETCH.
+ */
+@ServerBenchmark
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class ItemBookingDatesBenchmark {
+
+    private static final int BOOKERS = 100;
+    private static final int BOOKINGS = 100_000;
+    private static final int LEGACY_WARMUP = 5;
+    private static final int LEGACY_ITERATIONS = 30;
+    private static final int WARMUP = 1_000;
+    private static final int ITERATIONS = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ItemService itemService;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private long itemId;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        LocalDateTime now = LocalDateTime.now();
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'bench-owner@mail.ru')");
+        long ownerId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'bench-owner@mail.ru'", Long.class);
+        List<Object[]> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(new Object[]{"Booker " + i, "bench-booker-" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", bookers);
+        List<Long> bookerIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email LIKE 'bench-booker-%' ORDER BY id", Long.class);
+
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, true, ?)",
+                "Палатка", "Популярная", ownerId);
+        itemId = jdbcTemplate.queryForObject("SELECT id FROM items WHERE owner_id = ?", Long.class, ownerId);
+
+        Random random = new Random(42);
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusMinutes(random.nextInt(20 * 365 * 24 * 60) - 10 * 365 * 24 * 60);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1 + random.nextInt(72))),
+                    itemId, bookerIds.get(random.nextInt(BOOKERS)), statuses[random.nextInt(statuses.length)].name()});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO bookings (start_timestamp, end_timestamp, item_id, booker_id, status)
+                VALUES (?, ?, ?, ?, ?)
+                """, bookings);
+    }
+
+    @Test
+    void allBookingsOfItemVersusLimitOneQueries() {
+        ItemEnrichedDto current = itemService.findById(itemId);
+        List<Booking> all = loadAllBookings();
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(all.stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED && booking.getStart().isBefore(now))
+                .max(Comparator.comparing(Booking::getStart))
+                .map(Booking::getEnd)
+                .orElse(null), current.getLastBooking());
+        assertEquals(all.stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED && booking.getStart().isAfter(now))
+                .map(Booking::getStart)
+                .min(Comparator.naturalOrder())
+                .orElse(null), current.getNextBooking());
+
+        // Сначала быстрый вариант: прежний оставляет в куче сотни мегабайт, сборка которых исказила бы его замер
+        System.gc();
+        BenchmarkRunner.measure("findById: два запроса LIMIT 1", WARMUP, ITERATIONS,
+                () -> itemService.findById(itemId));
+        BenchmarkRunner.measure("findAllByItem_Id и перебор в Java", LEGACY_WARMUP, LEGACY_ITERATIONS,
+                this::legacy);
+    }
+
+    private List<Booking> loadAllBookings() {
+        return readOnly.execute(status -> entityManager.createQuery(
+                        "SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id = :id",
+                        Booking.class)
+                .setParameter("id", itemId)
+                .getResultList());
+    }
+
+    private LocalDateTime[] legacy() {
+        List<Booking> bookings = loadAllBookings();
+        Booking lastBooking = bookings.stream()
+                .filter(booking -> booking.getEnd().isAfter(LocalDateTime.now())).findFirst().orElse(null);
+        if (lastBooking == null) {
+            return new LocalDateTime[0];
+        }
+        LocalDateTime nextBooking = bookings.stream()
+                .map(Booking::getStart)
+                .filter(start -> start.isAfter(lastBooking.getEnd())).findFirst().orElse(null);
+        return new LocalDateTime[]{lastBooking.getEnd(), nextBooking};
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+/**
+ * Два экземпляра сервера с профилем cluster над одной БД, как в docker-compose.cluster.yml:
+ * запись через один узел сразу видна в поиске и подсказках другого.
+ */
+public class ItemClusterIntegrationTests {
+
+    private static final String SHARED_DATABASE_URL =
+            "jdbc:h2:mem:shareit-cluster;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext firstNode;
+    private static ConfigurableApplicationContext secondNode;
+
+    @BeforeAll
+    public static void startNodes() {
+        firstNode = startNode();
+        secondNode = startNode();
+    }
+
+    @AfterAll
+    public static void stopNodes() {
+        secondNode.close();
+        firstNode.close();
+    }
+
+    @Test
+    public void writesThroughOneNodeShouldBeVisibleOnAnother() {
+
+        User owner = firstNode.getBean(UserRepository.class)
+                .save(User.builder().name("Owner").email("cluster-owner@mail.ru").build());
+        ItemService writer = firstNode.getBean(ItemService.class);
+        ItemService reader = secondNode.getBean(ItemService.class);
+        assertThat(reader.findByText("перфоратор", true, 0, 10), empty());
+
+        ItemDto created = writer.create(ItemDto.builder()
+                .name("Перфоратор")
+                .description("Мощный")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+
+        assertThat(reader.findByText("перфоратор", true, 0, 10).stream().map(ItemDto::getId).toList(),
+                contains(created.getId()));
+        assertThat(reader.suggest("перф", 10), contains("Перфоратор"));
+
+        writer.update(ItemDto.builder()
+                .id(created.getId())
+                .name("Шуруповёрт")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+
+        assertThat(reader.findByText("перфоратор", true, 0, 10), empty());
+        assertThat(reader.suggest("перф", 10), empty());
+        assertThat(reader.suggest("шуруп", 10), contains("Шуруповёрт"));
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "cluster")
+                // Аргументы командной строки, а не properties(): свойства по умолчанию перекрыл бы профиль test.
+                // Схема из schema.sql, как в рабочем окружении: create-drop второго узла удалил бы таблицы первого
+                .run("--spring.datasource.url=" + SHARED_DATABASE_URL,
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--spring.sql.init.mode=always");
+    }
+}
@@ -5,18 +5,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemEnrichedDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -88,7 +97,8 @@ public class ItemControllerTests {
     @Test
     public void testFindAllOnUser() throws Exception {
 
-        when(itemService.findAllItemsByUser(anyLong())).thenReturn(List.of(itemDto));
+        when(itemService.findAllItemsByUser(anyLong(), isNull(), anyInt()))
+                .thenReturn(Window.from(List.of(itemEnrichedDto), ScrollPosition::offset));
 
         mvc.perform(get(ITEMS_ENDPOINT)
                         .content(mapper.writeValueAsString(itemDto))
@@ -108,7 +118,18 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$[0].name", is(itemDto.getName())))
                 .andExpect(jsonPath("$[0].available", is(itemDto.getAvailable())))
                 .andExpect(jsonPath("$[0].ownerId", is(itemDto.getOwnerId().intValue())))
-                .andExpect(jsonPath("$[0].description", is(itemDto.getDescription())));
+                .andExpect(jsonPath("$[0].description", is(itemDto.getDescription())))
+                .andExpect(jsonPath("$[0].comments[0]", is(itemEnrichedDto.getComments().getFirst())));
+    }
+
+    @Test
+    public void testFindAllOnUserShouldRejectTooLargePageSize() throws Exception {
+
+        mvc.perform(get(ITEMS_ENDPOINT)
+                        .param("size", String.valueOf(Integer.MAX_VALUE))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_IDENTIFICATOR_HEADER_NAME, 1))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -131,4 +152,90 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$.nextBooking").exists())
                 .andExpect(jsonPath("$.lastBooking").exists());
     }
+
+    @Test
+    public void testFindAllById() throws Exception {
+
+        when(itemService.findAllById(List.of(1L, 2L))).thenReturn(List.of(itemEnrichedDto));
+
+        mvc.perform(get(ITEMS_ENDPOINT)
+                        .param("ids", "1,2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].name", is(itemEnrichedDto.getName())));
+    }
+
+    @Test
+    public void testFindAllByIdShouldRejectTooManyIds() throws Exception {
+
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mvc.perform(get(ITEMS_ENDPOINT)
+                        .param("ids", ids)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testImportItems() throws Exception {
+
+        when(itemService.importItems(eq(1L), any())).thenReturn(new ItemImportResultDto(1, 1, false,
+                List.of(ItemImportRowDto.created(1, 10L), ItemImportRowDto.failed(2, "name: не должно быть пустым"))));
+
+        mvc.perform(post(ITEMS_ENDPOINT + "/bulk")
+                        .content("{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}\n{}")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(USER_IDENTIFICATOR_HEADER_NAME, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rows[0].id", is(10)))
+                .andExpect(jsonPath("$.rows[0].error").doesNotExist())
+                .andExpect(jsonPath("$.rows[1].line", is(2)));
+    }
+
+    @Test
+    public void testSuggest() throws Exception {
+
+        when(itemService.suggest("дре", 5)).thenReturn(List.of("Дрель", "Дрель ударная"));
+
+        mvc.perform(get(ITEMS_ENDPOINT + "/suggest")
+                        .param("prefix", "дре")
+                        .param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", is("Дрель")))
+                .andExpect(jsonPath("$[1]", is("Дрель ударная")));
+    }
+
+    @Test
+    public void testSuggestShouldRejectTooLargeSize() throws Exception {
+
+        mvc.perform(get(ITEMS_ENDPOINT + "/suggest")
+                        .param("prefix", "дре")
+                        .param("size", "100")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchShouldRejectTooLargePageSize() throws Exception {
+
+        mvc.perform(get(ITEMS_ENDPOINT + "/search")
+                        .param("text", "дрель")
+                        .param("size", "101")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchShouldRejectTooLargeOffset() throws Exception {
+
+        mvc.perform(get(ITEMS_ENDPOINT + "/search")
+                        .param("text", "дрель")
+                        .param("from", String.valueOf(Integer.MAX_VALUE))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
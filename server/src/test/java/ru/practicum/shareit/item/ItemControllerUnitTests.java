@@ -5,6 +5,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemEnrichedDto;
 
@@ -13,9 +15,12 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,12 +63,14 @@ public class ItemControllerUnitTests {
     @Test
     void findAllOnUser_shouldReturnListOfItems() {
 
-        when(itemService.findAllItemsByUser(anyLong())).thenReturn(Collections.emptyList());
+        when(itemService.findAllItemsByUser(anyLong(), isNull(), anyInt()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
 
-        List<ItemDto> result = (List<ItemDto>) itemController.findAllOnUser(1L);
+        List<ItemEnrichedDto> result = itemController.findAllOnUser(null, 20, 1L).getBody();
 
+        assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(itemService).findAllItemsByUser(1L);
+        verify(itemService).findAllItemsByUser(1L, null, 20);
     }
 
     @Test
@@ -119,11 +126,11 @@ public class ItemControllerUnitTests {
     @Test
     void searchShouldReturnListOfItems() {
 
-        when(itemService.findByText(anyString())).thenReturn(Collections.emptyList());
+        when(itemService.findByText(anyString(), anyBoolean(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
 
-        List<ItemDto> result = (List<ItemDto>) itemController.search("test");
+        List<ItemDto> result = itemController.search("test", true, 0, 20);
 
         assertTrue(result.isEmpty());
-        verify(itemService).findByText("test");
+        verify(itemService).findByText("test", true, 0, 20);
     }
 }
@@ -1,18 +1,33 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Window;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dal.CommentRepository;
+import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemEnrichedDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
-import java.util.Collection;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -26,7 +41,12 @@ import static org.hamcrest.Matchers.notNullValue;
 public class ItemServiceIntegrationTests {
 
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
     private final ItemService itemService;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
     private User user;
     private ItemDto itemDto;
@@ -71,9 +91,66 @@ public class ItemServiceIntegrationTests {
 
         ItemDto itemDtoNew = itemService.create(itemDto);
 
-        Collection<ItemDto> itemDtoList = itemService.findAllItemsByUser(user.getId());
+        Window<ItemEnrichedDto> itemDtoList = itemService.findAllItemsByUser(user.getId(), null, 20);
 
         assertThat(itemDtoNew.getId(), notNullValue());
         assertThat(itemDtoList.size(), equalTo(1));
     }
+
+    @Test
+    public void testFindByIdShouldReturnLastAndNextApprovedBookings() {
+
+        user = userRepository.save(user);
+        itemDto.setOwnerId(user.getId());
+        Item item = itemRepository.findById(itemService.create(itemDto).getId()).orElseThrow();
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking(null, now.minusDays(5), now.minusDays(4), item, user, BookingStatus.APPROVED));
+        Booking last = bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, user,
+                BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, user, BookingStatus.WAITING));
+        Booking next = bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4), item, user,
+                BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(5), now.plusDays(6), item, user, BookingStatus.APPROVED));
+
+        ItemEnrichedDto result = itemService.findById(item.getId());
+
+        assertThat(result.getLastBooking(), equalTo(last.getEnd()));
+        assertThat(result.getNextBooking(), equalTo(next.getStart()));
+    }
+
+    @Test
+    public void testFindAllItemsForUserShouldUseConstantNumberOfQueries() {
+
+        user = userRepository.save(user);
+        itemDto.setOwnerId(user.getId());
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            Item item = itemRepository.findById(itemService.create(itemDto).getId()).orElseThrow();
+            bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, user, BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, user, BookingStatus.APPROVED));
+            commentRepository.save(new Comment(null, "Comment " + i, item, user, now));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Window<ItemEnrichedDto> firstPage = itemService.findAllItemsByUser(user.getId(), null, 2);
+
+        // пользователь, вещи, последние бронирования, следующие бронирования, комментарии
+        assertThat(statistics.getPrepareStatementCount(), equalTo(5L));
+        assertThat(firstPage.size(), equalTo(2));
+        assertThat(firstPage.hasNext(), equalTo(true));
+        assertThat(firstPage.getContent().getFirst().getLastBooking(), equalTo(now.minusDays(1)));
+        assertThat(firstPage.getContent().getFirst().getNextBooking(), equalTo(now.plusDays(1)));
+        assertThat(firstPage.getContent().getFirst().getComments(), equalTo(List.of("Comment 0")));
+
+        Window<ItemEnrichedDto> secondPage = itemService.findAllItemsByUser(user.getId(),
+                firstPage.getContent().getLast().getId(), 2);
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.hasNext(), equalTo(false));
+    }
 }
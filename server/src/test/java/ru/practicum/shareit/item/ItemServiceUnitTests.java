@@ -5,17 +5,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.ItemBookingDate;
 import ru.practicum.shareit.exception.NotAvailableItemException;
 import ru.practicum.shareit.item.dal.CommentRepository;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemEnrichedDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
@@ -27,6 +33,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -65,6 +72,10 @@ public class ItemServiceUnitTests {
     private BookingRepository bookingRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private ItemNameSuggester itemNameSuggester;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -72,15 +83,26 @@ public class ItemServiceUnitTests {
     void findAllItemsByUserShouldReturnItemsWhenUserExists() {
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findByOwnerIdEquals(anyLong())).thenReturn(List.of(testItem));
+        when(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(anyLong(), anyLong(), any(Limit.class)))
+                .thenReturn(List.of(testItem));
+        when(bookingRepository.findLastBookingEnds(anyCollection(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(new ItemBookingDate(testItem.getId(), LocalDateTime.now().minusDays(1))));
+        when(bookingRepository.findNextBookingStarts(anyCollection(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        when(commentRepository.findTextsByItemIds(anyCollection()))
+                .thenReturn(List.of(new CommentView(testItem.getId(), "Test Comment")));
 
-        Collection<ItemDto> result = itemService.findAllItemsByUser(1L);
+        Window<ItemEnrichedDto> result = itemService.findAllItemsByUser(1L, null, 20);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findByOwnerIdEquals(anyLong());
+        verify(itemRepository, times(1)).findByOwnerIdAndIdGreaterThanOrderByIdAsc(anyLong(), anyLong(), any(Limit.class));
+        assertNotNull(result.getContent().getFirst().getLastBooking());
+        assertNull(result.getContent().getFirst().getNextBooking());
+        assertEquals(List.of("Test Comment"), result.getContent().getFirst().getComments());
+        assertFalse(result.hasNext());
     }
 
     @Test
@@ -88,17 +110,20 @@ public class ItemServiceUnitTests {
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
-        assertThrows(RuntimeException.class, () -> itemService.findAllItemsByUser(1L));
+        assertThrows(RuntimeException.class, () -> itemService.findAllItemsByUser(1L, null, 20));
         verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, never()).findByOwnerIdEquals(anyLong());
+        verify(itemRepository, never()).findByOwnerIdAndIdGreaterThanOrderByIdAsc(anyLong(), anyLong(), any(Limit.class));
     }
 
     @Test
     void findByIdShouldReturnItemWithoutBookingsWhenNoBookingsExist() {
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(testItem));
-        when(bookingRepository.findAllByItem_Id(anyLong())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItem_Id(anyLong())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastBookingEnd(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(bookingRepository.findNextBookingStart(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(commentRepository.findTextsByItemId(anyLong())).thenReturn(Collections.emptyList());
 
         ItemEnrichedDto result = itemService.findById(1L);
 
@@ -108,8 +133,9 @@ public class ItemServiceUnitTests {
         assertNull(result.getNextBooking());
         assertTrue(result.getComments().isEmpty());
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findAllByItem_Id(anyLong());
-        verify(commentRepository, times(1)).findByItem_Id(anyLong());
+        verify(bookingRepository, times(1)).findLastBookingEnd(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findNextBookingStart(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findTextsByItemId(anyLong());
     }
 
     @Test
@@ -136,8 +162,11 @@ public class ItemServiceUnitTests {
                 .build();
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(testItem));
-        when(bookingRepository.findAllByItem_Id(anyLong())).thenReturn(List.of(currentBooking, futureBooking));
-        when(commentRepository.findByItem_Id(anyLong())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastBookingEnd(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(currentBooking.getEnd()));
+        when(bookingRepository.findNextBookingStart(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(futureBooking.getStart()));
+        when(commentRepository.findTextsByItemId(anyLong())).thenReturn(Collections.emptyList());
 
         ItemEnrichedDto result = itemService.findById(1L);
 
@@ -151,8 +180,9 @@ public class ItemServiceUnitTests {
         assertEquals(futureBooking.getStart(), result.getNextBooking());
 
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findAllByItem_Id(anyLong());
-        verify(commentRepository, times(1)).findByItem_Id(anyLong());
+        verify(bookingRepository, times(1)).findLastBookingEnd(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findNextBookingStart(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findTextsByItemId(anyLong());
     }
 
     @Test
@@ -162,31 +192,32 @@ public class ItemServiceUnitTests {
 
         assertThrows(RuntimeException.class, () -> itemService.findById(1L));
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, never()).findAllByItem_Id(anyLong());
-        verify(commentRepository, never()).findByItem_Id(anyLong());
+        verify(bookingRepository, never()).findLastBookingEnd(anyLong(), any(), any());
+        verify(bookingRepository, never()).findNextBookingStart(anyLong(), any(), any());
+        verify(commentRepository, never()).findTextsByItemId(anyLong());
     }
 
     @Test
     void findByTextShouldReturnEmptyListWhenTextIsBlank() {
 
-        Collection<ItemDto> result = itemService.findByText(" ");
+        Collection<ItemDto> result = itemService.findByText(" ", true, 0, 20);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(itemRepository, never()).findTextNameAndDescription(anyString());
+        verify(itemSearchEngine, never()).search(anyString(), anyBoolean(), anyInt(), anyInt());
     }
 
     @Test
     void findByTextShouldReturnItemsWhenTextIsNotBlank() {
 
-        when(itemRepository.findTextNameAndDescription(anyString())).thenReturn(List.of(testItem));
+        when(itemSearchEngine.search("test", true, 0, 20)).thenReturn(List.of(testItemDto));
 
-        Collection<ItemDto> result = itemService.findByText("test");
+        Collection<ItemDto> result = itemService.findByText("test", true, 0, 20);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
-        verify(itemRepository, times(1)).findTextNameAndDescription(anyString());
+        verify(itemSearchEngine, times(1)).search("test", true, 0, 20);
     }
 
 
@@ -272,8 +303,11 @@ public class ItemServiceUnitTests {
                 .build();
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(testItem));
-        when(bookingRepository.findAllByItem_Id(anyLong())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItem_Id(anyLong())).thenReturn(List.of(testComment));
+        when(bookingRepository.findLastBookingEnd(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(bookingRepository.findNextBookingStart(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(commentRepository.findTextsByItemId(anyLong())).thenReturn(List.of(testComment.getText()));
 
         ItemEnrichedDto result = itemService.findById(1L);
 
@@ -281,7 +315,8 @@ public class ItemServiceUnitTests {
         assertFalse(result.getComments().isEmpty());
         assertEquals(testComment.getText(), result.getComments().get(0));
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findAllByItem_Id(anyLong());
-        verify(commentRepository, times(1)).findByItem_Id(anyLong());
+        verify(bookingRepository, times(1)).findLastBookingEnd(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findNextBookingStart(anyLong(), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findTextsByItemId(anyLong());
     }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.item.bulk;
+
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Импорт фиксирует каждую пачку в отдельной транзакции, поэтому тест работает без откатываемой транзакции
+ * и удаляет созданные данные сам.
+ */
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ItemBulkImporterIntegrationTests {
+
+    private static final int ROWS = 1203;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemService itemService;
+
+    @SpyBean
+    private ItemSearchEngine itemSearchEngine;
+
+    private User owner;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(User.builder().name("Shop").email("shop@mail.ru").build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        itemRepository.deleteAll(itemRepository.findAll().stream()
+                .filter(item -> Objects.equals(item.getOwner().getId(), owner.getId()))
+                .toList());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    public void importItemsShouldSaveValidRowsInBatchesAndReportInvalidOnes() {
+
+        String ndjson = IntStream.rangeClosed(1, ROWS)
+                .mapToObj(line -> switch (line) {
+                    case 10 -> "{\"name\": \"Без описания\", \"available\": true}";
+                    case 600 -> "{\"name\": ";
+                    case 700 -> "";
+                    default -> "{\"id\": 1, \"name\": \"Дрель " + line + "\", \"description\": \"Ударная\", \"available\": true}";
+                })
+                .collect(Collectors.joining("\n"));
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), stream(ndjson));
+
+        assertThat(result.created(), equalTo(ROWS - 3));
+        assertThat(result.failed(), equalTo(2));
+        assertThat(result.truncated(), equalTo(false));
+        assertThat(result.rows().size(), equalTo(ROWS - 1));
+        assertThat(result.rows().get(0).line(), equalTo(1));
+        assertThat(result.rows().get(9).id(), nullValue());
+        assertThat(result.rows().get(9).error(), containsString("description"));
+        assertThat(result.rows().get(599).line(), equalTo(600));
+        assertThat(result.rows().get(599).error(), notNullValue());
+
+        List<Long> ids = result.rows().stream().map(ItemImportRowDto::id).filter(Objects::nonNull).toList();
+        assertThat(new HashSet<>(ids).size(), equalTo(ROWS - 3));
+        Item last = itemRepository.findById(result.rows().getLast().id()).orElseThrow();
+        assertThat(last.getName(), equalTo("Дрель " + ROWS));
+        assertThat(last.getOwner().getId(), equalTo(owner.getId()));
+    }
+
+    @Test
+    public void importItemsShouldReportTooLongFieldsAsRowErrors() {
+
+        String ndjson = String.join("\n",
+                row("Дрель"),
+                "{\"name\": \"" + "Д".repeat(256) + "\", \"description\": \"Ударная\", \"available\": true}",
+                row("Пила"));
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), stream(ndjson));
+
+        assertThat(result.created(), equalTo(2));
+        assertThat(result.failed(), equalTo(1));
+        assertThat(result.rows().get(1).error(), containsString("name"));
+        assertThat(result.rows().get(2).id(), notNullValue());
+    }
+
+    @Test
+    public void importItemsShouldSaveRowsOneByOneWhenBatchFails() {
+
+        doThrow(new PersistenceException("Отказ базы"))
+                .when(itemSearchEngine).indexAll(argThat(batch -> batch.stream()
+                        .anyMatch(itemDto -> itemDto.getName().equals("Сломанная"))));
+        String ndjson = String.join("\n", row("Дрель"), row("Сломанная"), row("Пила"));
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), stream(ndjson));
+
+        assertThat(result.created(), equalTo(2));
+        assertThat(result.failed(), equalTo(1));
+        assertThat(result.rows().stream().map(ItemImportRowDto::line).toList(), contains(1, 2, 3));
+        assertThat(result.rows().get(1).id(), nullValue());
+        assertThat(result.rows().get(1).error(), notNullValue());
+        assertThat(itemRepository.findById(result.rows().get(2).id()).orElseThrow().getName(), equalTo("Пила"));
+    }
+
+    @Test
+    public void importItemsShouldCapRowReportButCountAllRows() {
+
+        int rows = ItemBulkImporter.MAX_REPORTED_ROWS + 5;
+        String ndjson = IntStream.range(0, rows).mapToObj(line -> "{").collect(Collectors.joining("\n"));
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), stream(ndjson));
+
+        assertThat(result.failed(), equalTo(rows));
+        assertThat(result.truncated(), equalTo(true));
+        assertThat(result.rows().size(), equalTo(ItemBulkImporter.MAX_REPORTED_ROWS));
+        assertThat(result.rows().getLast().line(), equalTo(ItemBulkImporter.MAX_REPORTED_ROWS));
+    }
+
+    @Test
+    public void importItemsShouldRejectUnknownOwner() {
+
+        assertThrows(NotFoundException.class, () -> itemService.importItems(Long.MAX_VALUE, stream("{}")));
+    }
+
+    private static String row(String name) {
+        return "{\"name\": \"" + name + "\", \"description\": \"Ударная\", \"available\": true}";
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@Rollback
+@Transactional
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "shareit.search.engine=database")
+public class DatabaseItemSearchEngineIntegrationTests {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final DatabaseItemSearchEngine engine;
+
+    private User owner;
+
+    @BeforeEach
+    public void setUp() {
+
+        owner = userRepository.save(User.builder().name("Owner").email("owner@mail.ru").build());
+    }
+
+    @Test
+    public void testH2ProfileShouldUseJpqlQuery() {
+
+        assertThat(engine.isTrigramSupported(), equalTo(false));
+    }
+
+    @Test
+    public void testSearchShouldReturnEmptyPageForOffsetNearIntegerLimit() {
+
+        save("Аккумуляторная Дрель", "Ударная", true);
+
+        assertThat(engine.search("дрель", true, Integer.MAX_VALUE - 1, 20), empty());
+        assertThat(DatabaseItemSearchEngine.windowEnd(Integer.MAX_VALUE - 1, 20), equalTo(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testSearchShouldMatchSubstringsIgnoringCase() {
+
+        Item drill = save("Аккумуляторная Дрель", "Ударная", true);
+        Item saw = save("Пила", "Циркулярная, не дрель", true);
+        save("Молоток", "Слесарный", true);
+
+        List<ItemDto> result = engine.search("ДРЕЛ", true, 0, 20);
+
+        assertThat(result.stream().map(ItemDto::getId).toList(), contains(drill.getId(), saw.getId()));
+    }
+
+    @Test
+    public void testSearchShouldApplyAvailableFilterAndPaging() {
+
+        save("Дрель 1", "Описание", true);
+        Item second = save("Дрель 2", "Описание", false);
+        Item third = save("Дрель 3", "Описание", true);
+
+        assertThat(engine.search("дрель", true, 1, 20).stream().map(ItemDto::getId).toList(), contains(third.getId()));
+        assertThat(engine.search("дрель", false, 1, 1).stream().map(ItemDto::getId).toList(), contains(second.getId()));
+    }
+
+    @Test
+    public void testSearchShouldTreatWildcardsLiterally() {
+
+        save("Скидка 50%", "Описание", true);
+        save("Скидка 500", "Описание", true);
+
+        assertThat(engine.search("50%", true, 0, 20), hasSize(1));
+        assertThat(engine.search("_", true, 0, 20), empty());
+    }
+
+    private Item save(String name, String description, boolean available) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InvertedIndexItemSearchEngineTests {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InvertedIndexItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new InvertedIndexItemSearchEngine(itemRepository);
+    }
+
+    @Test
+    void searchShouldRankNameMatchesAboveDescriptionMatches() {
+
+        engine.index(item(1L, "Пила", "Аккумуляторная дрель в комплекте", true));
+        engine.index(item(2L, "Дрель", "Ударная", true));
+
+        List<ItemDto> result = engine.search("дрель", true, 0, 20);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void searchShouldMatchTokenPrefixesAndRequireAllTokens() {
+
+        engine.index(item(1L, "Дрель ударная", "Мощная", true));
+        engine.index(item(2L, "Дрель", "Для дерева", true));
+
+        assertEquals(2, engine.search("ДРЕ", true, 0, 20).size());
+        assertEquals(List.of(1L), engine.search("дрель удар", true, 0, 20).stream().map(ItemDto::getId).toList());
+        assertTrue(engine.search("отвертка", true, 0, 20).isEmpty());
+    }
+
+    @Test
+    void searchShouldFilterUnavailableItemsOnlyWhenRequested() {
+
+        engine.index(item(1L, "Дрель", "Ударная", false));
+
+        assertTrue(engine.search("дрель", true, 0, 20).isEmpty());
+        assertEquals(1, engine.search("дрель", false, 0, 20).size());
+    }
+
+    @Test
+    void searchShouldPaginateRankedResults() {
+
+        for (long id = 1; id <= 5; id++) {
+            engine.index(item(id, "Дрель " + id, "Описание", true));
+        }
+
+        List<ItemDto> page = engine.search("дрель", true, 2, 2);
+
+        assertEquals(List.of(3L, 4L), page.stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void searchPagesShouldFollowFullRankingAcrossMixedScoresAndAvailability() {
+
+        for (long id = 1; id <= 30; id++) {
+            engine.index(id % 3 == 0
+                    ? item(id, "Дрель " + id, "Описание", id % 2 == 0)
+                    : item(id, "Пила " + id, "Дрель в комплекте", id % 2 == 0));
+        }
+
+        List<Long> full = engine.search("дрель", true, 0, 100).stream().map(ItemDto::getId).toList();
+        List<Long> paged = new ArrayList<>();
+        for (int from = 0; from < full.size(); from += 4) {
+            engine.search("дрель", true, from, 4).forEach(item -> paged.add(item.getId()));
+        }
+
+        assertEquals(List.of(6L, 12L, 18L, 24L, 30L, 2L, 4L), full.subList(0, 7));
+        assertEquals(15, full.size());
+        assertEquals(full, paged);
+    }
+
+    @Test
+    void indexShouldReplaceTokensOfUpdatedItem() {
+
+        engine.index(item(1L, "Дрель", "Ударная", true));
+        engine.index(item(1L, "Пила", "Ручная", true));
+
+        assertTrue(engine.search("дрель", true, 0, 20).isEmpty());
+        assertEquals(1, engine.search("пила", true, 0, 20).size());
+    }
+
+    @Test
+    void matchShouldRankItemsByAnyMatchingWordOfFreeText() {
+
+        engine.index(item(1L, "Дрель", "Ударная, с набором свёрл", true));
+        engine.index(item(2L, "Ударный шуруповёрт", "Аккумуляторный", true));
+        engine.index(item(3L, "Дрель старая", "Не работает", false));
+        engine.index(item(4L, "Пила", "Ручная", true));
+
+        List<ItemDto> result = engine.match("Ищу дрели на выходные, можно ударную", 10);
+
+        assertEquals(List.of(1L, 2L), result.stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void rebuildShouldLoadAllItemsFromRepository() {
+
+        User owner = User.builder().id(1L).name("Owner").email("owner@mail.ru").build();
+        Item item = Item.builder().id(7L).name("Дрель").description("Ударная").available(true).owner(owner).build();
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(List.of(item));
+
+        engine.rebuild();
+
+        assertEquals(List.of(7L), engine.search("дрель", true, 0, 20).stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void rebuildShouldNotOverwriteItemUpdatedWhileRebuildRuns() {
+
+        User owner = User.builder().id(1L).name("Owner").email("owner@mail.ru").build();
+        Item stale = Item.builder().id(7L).name("Дрель").description("Ударная").available(true).owner(owner).build();
+        // Перестроение прочитало старую строку, а обновление этой вещи зафиксировалось до того, как строка попала в индекс
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            engine.index(item(7L, "Перфоратор", "Ударный", true));
+            return List.of(stale);
+        });
+
+        engine.rebuild();
+
+        assertTrue(engine.search("дрель", true, 0, 20).isEmpty());
+        assertEquals(List.of(7L), engine.search("перфоратор", true, 0, 20).stream().map(ItemDto::getId).toList());
+    }
+
+    private static ItemDto item(long id, String name, String description, boolean available) {
+        return ItemDto.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .ownerId(1L)
+                .build();
+    }
+}
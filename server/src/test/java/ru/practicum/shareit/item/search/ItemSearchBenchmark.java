@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.BenchmarkRunner;
+import ru.practicum.shareit.ServerBenchmark;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * /items/search: инвертированный индекс в памяти против LIKE по name и description. Движки создаются напрямую,
+ * минуя бин с @Cacheable, иначе повторные запросы отдавал бы кэш. 200 тысяч вещей вместо миллиона:
+ * H2 в памяти и индекс вместе с миллионом строк не помещаются в кучу форка surefire по умолчанию.
+ */
+@ServerBenchmark
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class ItemSearchBenchmark {
+
+    private static final int ITEMS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+    private static final String[] WORDS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "самокат",
+            "пылесос", "шуруповёрт", "лобзик", "рюкзак", "спальник", "удочка", "мангал", "проектор", "колонка",
+            "гитара", "байдарка", "коньки", "лыжи", "сноуборд"};
+    private static final String[] ADJECTIVES = {"ударная", "складная", "туристическая", "детский", "мощный",
+            "аккумуляторный", "походный", "портативная", "зимние", "горные"};
+    // Слово встречается в одной вещи из тысячи, поэтому LIKE не находит страницу в начале таблицы
+    private static final String RARE_WORD = "антиквариат";
+    private static final int RARE_EVERY = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private InvertedIndexItemSearchEngine index;
+    private DatabaseItemSearchEngine database;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'bench-owner@mail.ru')");
+        long ownerId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'bench-owner@mail.ru'", Long.class);
+        Random random = new Random(42);
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String description = WORDS[random.nextInt(WORDS.length)] + " в хорошем состоянии, модель " + i
+                    + (i % RARE_EVERY == 0 ? ", " + RARE_WORD : "");
+            items.add(new Object[]{name, description, random.nextInt(4) != 0, ownerId});
+            if (items.size() == 10_000) {
+                insert(items);
+            }
+        }
+        insert(items);
+
+        index = new InvertedIndexItemSearchEngine(itemRepository);
+        long start = System.nanoTime();
+        index.rebuild();
+        System.out.printf("Перестроение индекса: %d вещей за %d мс%n",
+                ITEMS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        database = new DatabaseItemSearchEngine(itemRepository, entityManagerFactory);
+    }
+
+    private void insert(List<Object[]> items) {
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)", items);
+        items.clear();
+    }
+
+    @Test
+    void invertedIndexVersusLike() {
+        // Индекс ранжирует, LIKE отдаёт вещи по порядку идентификаторов, поэтому совпадать должны только множества
+        assertEquals(ITEMS / RARE_EVERY, index.search(RARE_WORD, false, 0, ITEMS).size());
+        assertEquals(ITEMS / RARE_EVERY, database.search(RARE_WORD, false, 0, ITEMS).size());
+
+        for (String text : List.of(RARE_WORD, "байдарка складная", "дрель")) {
+            BenchmarkRunner.measure("индекс: " + text, WARMUP, ITERATIONS,
+                    () -> index.search(text, true, 0, PAGE_SIZE));
+            BenchmarkRunner.measure("LIKE: " + text, WARMUP, ITERATIONS,
+                    () -> search(text));
+        }
+    }
+
+    // LIKE ищет фразу целиком, как и прежде, а индекс требует совпадения каждого слова
+    private List<ItemDto> search(String text) {
+        return database.search(text, true, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+@ActiveProfiles("test")
+@AutoConfigureObservability
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ItemSearchCacheIntegrationTests {
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CacheManager cacheManager;
+    private final ItemSearchEngine itemSearchEngine;
+    private final MeterRegistry meterRegistry;
+
+    private User owner;
+    private ItemDto item;
+
+    @BeforeEach
+    public void setUp() {
+
+        cacheManager.getCache(ItemSearchCacheConfig.ITEM_SEARCH_CACHE).clear();
+        owner = userRepository.save(User.builder().name("Owner").email("cache-owner@mail.ru").build());
+        item = itemService.create(ItemDto.builder()
+                .name("Газонокосилка")
+                .description("Бензиновая")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    public void testRepeatedSearchShouldBeServedFromCacheByNormalizedText() {
+
+        double hitsBefore = hits();
+
+        List<ItemDto> first = itemService.findByText("Газонокосилка", true, 0, 20);
+        List<ItemDto> second = itemService.findByText("  газонокосилка ", true, 0, 20);
+
+        assertThat(ids(first), hasItem(item.getId()));
+        assertThat(second, equalTo(first));
+        assertThat(hits() - hitsBefore, equalTo(1.0));
+    }
+
+    @Test
+    public void testUpdateOfSearchableFieldShouldInvalidateCache() {
+
+        assertThat(ids(itemService.findByText("газонокосилка", true, 0, 20)), hasItem(item.getId()));
+
+        itemService.update(ItemDto.builder()
+                .id(item.getId())
+                .name("Триммер")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+
+        assertThat(ids(itemService.findByText("газонокосилка", true, 0, 20)), not(hasItem(item.getId())));
+        assertThat(ids(itemService.findByText("триммер", true, 0, 20)), hasItem(item.getId()));
+    }
+
+    @Test
+    public void testSearchCachedAfterIndexUpdateWithOlderResultShouldNotBeServed() {
+
+        long generationBefore = itemSearchEngine.generation();
+        List<ItemDto> staleResult = itemService.findByText("газонокосилка", true, 0, 20);
+        assertThat(cacheManager.getCache(ItemSearchCacheConfig.ITEM_SEARCH_CACHE)
+                .get(List.of(generationBefore, "газонокосилка", true, 0, 20)), notNullValue());
+
+        itemService.update(ItemDto.builder()
+                .id(item.getId())
+                .name("Триммер")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+        // Параллельный поиск прочитал индекс до обновления, а в кэш положил результат уже после него
+        cacheManager.getCache(ItemSearchCacheConfig.ITEM_SEARCH_CACHE)
+                .put(List.of(generationBefore, "газонокосилка", true, 0, 20), staleResult);
+
+        assertThat(itemSearchEngine.generation(), greaterThan(generationBefore));
+        assertThat(ids(itemService.findByText("газонокосилка", true, 0, 20)), not(hasItem(item.getId())));
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+
+    private double hits() {
+        var counter = meterRegistry.find("cache.gets")
+                .tags("cache", ItemSearchCacheConfig.ITEM_SEARCH_CACHE, "result", "hit")
+                .functionCounter();
+        assertThat(counter, notNullValue());
+        return counter.count();
+    }
+}
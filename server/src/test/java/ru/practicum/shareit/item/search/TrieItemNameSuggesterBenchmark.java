@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import ru.practicum.shareit.BenchmarkRunner;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Память префиксного дерева на миллион названий и задержка подсказки. База не нужна: названия подаются
+ * в indexAll пачками, как при перестроении. Не входит в обычную сборку, запуск:
+ * mvn -pl server test -Dtest=TrieItemNameSuggesterBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TrieItemNameSuggesterBenchmark {
+
+    private static final int NAMES = 1_000_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int WARMUP = 10_000;
+    private static final int ITERATIONS = 100_000;
+    private static final String[] WORDS = {"Дрель", "Перфоратор", "Лестница", "Палатка", "Велосипед", "Самокат",
+            "Пылесос", "Шуруповёрт", "Лобзик", "Рюкзак", "Спальник", "Удочка", "Мангал", "Проектор", "Колонка",
+            "Гитара", "Байдарка", "Коньки", "Лыжи", "Сноуборд"};
+    private static final String[] ADJECTIVES = {"ударная", "складная", "туристическая", "детский", "мощный",
+            "аккумуляторный", "походный", "портативная", "зимние", "горные"};
+    private static final String[] BRANDS = {"Bosch", "Makita", "Stels", "Forward", "Tefal", "Quechua", "Fischer",
+            "Salomon", "Yamaha", "Weber"};
+
+    @Test
+    void footprintAndLatencyForMillionNames() {
+        Random random = new Random(42);
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        TrieItemNameSuggester suggester = new TrieItemNameSuggester(null);
+        List<ItemDto> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < NAMES; i++) {
+            // Почти все названия различаются моделью: общие у них только начала, как у реальных объявлений
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                    + " " + BRANDS[random.nextInt(BRANDS.length)] + " " + random.nextInt(NAMES / 3);
+            batch.add(ItemDto.builder().id((long) i + 1).name(name).available(true).build());
+            if (batch.size() == BATCH_SIZE) {
+                suggester.indexAll(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long footprint = usedHeap() - heapBefore;
+        System.out.printf("Дерево на %d названий: %d МБ в куче (%d Б на название), построено за %d мс%n",
+                NAMES, footprint >> 20, footprint / NAMES, buildMillis);
+
+        assertEquals(10, suggester.suggest("дрель ударная", 10).size());
+        assertTrue(suggester.suggest("дрель ударная bosch 1", 10).stream()
+                .allMatch(name -> name.startsWith("Дрель ударная Bosch 1")));
+
+        for (String prefix : List.of("д", "дре", "дрель ударная", "дрель ударная bosch 1234")) {
+            BenchmarkRunner.measure("suggest \"" + prefix + "\"", WARMUP, ITERATIONS,
+                    () -> suggester.suggest(prefix, 10));
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
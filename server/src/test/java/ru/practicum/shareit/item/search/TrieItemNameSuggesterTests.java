@@ -0,0 +1,132 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TrieItemNameSuggesterTests {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private TrieItemNameSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new TrieItemNameSuggester(itemRepository);
+    }
+
+    @Test
+    void suggestShouldReturnNamesByPrefixIgnoringCase() {
+
+        suggester.index(item(1L, "Дрель", true));
+        suggester.index(item(2L, "Дрель ударная", true));
+        suggester.index(item(3L, "Пила", true));
+
+        assertEquals(List.of("Дрель", "Дрель ударная"), suggester.suggest("ДР", 10));
+        assertEquals(List.of("Пила"), suggester.suggest("п", 10));
+        assertTrue(suggester.suggest("молоток", 10).isEmpty());
+        assertTrue(suggester.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    void suggestShouldRankMorePopularNamesFirstAndRespectSize() {
+
+        suggester.index(item(1L, "Пила ручная", true));
+        suggester.index(item(2L, "Пилка", true));
+        suggester.index(item(3L, "Пилка", true));
+
+        assertEquals(List.of("Пилка"), suggester.suggest("пил", 1));
+        assertEquals(List.of("Пилка", "Пила ручная"), suggester.suggest("пил", 10));
+    }
+
+    @Test
+    void indexShouldSkipUnavailableItemsAndFollowUpdates() {
+
+        suggester.index(item(1L, "Дрель", false));
+        assertTrue(suggester.suggest("др", 10).isEmpty());
+
+        suggester.index(item(1L, "Дрель", true));
+        assertEquals(List.of("Дрель"), suggester.suggest("др", 10));
+
+        suggester.index(item(1L, "Перфоратор", true));
+        assertTrue(suggester.suggest("др", 10).isEmpty());
+        assertEquals(List.of("Перфоратор"), suggester.suggest("перф", 10));
+
+        suggester.index(item(1L, "Перфоратор", false));
+        assertTrue(suggester.suggest("п", 10).isEmpty());
+    }
+
+    @Test
+    void branchShouldCollapseAndSplitAgainWhenNamesComeAndGo() {
+
+        suggester.index(item(1L, "Пила", true));
+        suggester.index(item(2L, "Пилка", true));
+        suggester.index(item(3L, "Пилот", true));
+
+        suggester.index(item(2L, "Пилка", false));
+        suggester.index(item(3L, "Пилот", false));
+        assertEquals(List.of("Пила"), suggester.suggest("пил", 10));
+        assertTrue(suggester.suggest("пилк", 10).isEmpty());
+
+        suggester.index(item(4L, "Пилон", true));
+        suggester.index(item(2L, "Пилка", true));
+        assertEquals(List.of("Пила", "Пилка", "Пилон"), suggester.suggest("пил", 10));
+        assertEquals(List.of("Пилон"), suggester.suggest("пило", 10));
+    }
+
+    @Test
+    void rebuildShouldLoadNamesFromRepository() {
+
+        User owner = User.builder().id(1L).name("Owner").email("owner@mail.ru").build();
+        Item item = Item.builder().id(7L).name("Стремянка").description("Алюминиевая").available(true).owner(owner).build();
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(List.of(item));
+
+        suggester.rebuild();
+
+        assertEquals(List.of("Стремянка"), suggester.suggest("стр", 10));
+    }
+
+    @Test
+    void rebuildShouldNotOverwriteNameUpdatedWhileRebuildRuns() {
+
+        User owner = User.builder().id(1L).name("Owner").email("owner@mail.ru").build();
+        Item stale = Item.builder().id(7L).name("Стремянка").description("Алюминиевая").available(true).owner(owner).build();
+        // Перестроение прочитало старую строку, а переименование зафиксировалось до того, как строка попала в дерево
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            suggester.index(item(7L, "Лестница", true));
+            return List.of(stale);
+        });
+
+        suggester.rebuild();
+
+        assertTrue(suggester.suggest("стр", 10).isEmpty());
+        assertEquals(List.of("Лестница"), suggester.suggest("лес", 10));
+    }
+
+    private static ItemDto item(long id, String name, boolean available) {
+        return ItemDto.builder()
+                .id(id)
+                .name(name)
+                .description("Описание")
+                .available(available)
+                .ownerId(1L)
+                .build();
+    }
+}
@@ -6,16 +6,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.web.TimestampCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -62,4 +69,57 @@ public class ItemRequestControllerTests {
                 .andExpect(jsonPath("$.description", is(itemRequestDto.getDescription())))
                 .andExpect(jsonPath("$.requestor", is(itemRequestDto.getRequestor().intValue())));
     }
+
+    @Test
+    public void testFindAllNotUserShouldExposeNextCursor() throws Exception {
+
+        ItemRequestDto feedItem = ItemRequestDto.builder()
+                .id(5L)
+                .description("Simple Request Description")
+                .requestor(2L)
+                .created(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+        TimestampCursor cursor = new TimestampCursor(LocalDateTime.of(2024, 1, 2, 12, 0), 7L);
+        when(itemRequestService.findItemsNotUser(1L, cursor, 1))
+                .thenReturn(Window.from(List.of(feedItem), ScrollPosition::offset, true));
+
+        mvc.perform(get(ITEM_REQUESTS_ENDPOINT + "/all")
+                        .param("cursor", cursor.toString())
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2024-01-01T12:00_5"))
+                .andExpect(jsonPath("$[0].id", is(5)));
+    }
+
+    @Test
+    public void testFindAllNotUserShouldRejectMalformedCursor() throws Exception {
+
+        mvc.perform(get(ITEM_REQUESTS_ENDPOINT + "/all")
+                        .param("cursor", "not-a-cursor")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testFindAllShouldRejectTooLargePageSize() throws Exception {
+
+        mvc.perform(get(ITEM_REQUESTS_ENDPOINT)
+                        .param("size", String.valueOf(Integer.MAX_VALUE))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testFindAllNotUserShouldRejectTooLargePageSize() throws Exception {
+
+        mvc.perform(get(ITEM_REQUESTS_ENDPOINT + "/all")
+                        .param("size", String.valueOf(Integer.MAX_VALUE))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+    }
 }
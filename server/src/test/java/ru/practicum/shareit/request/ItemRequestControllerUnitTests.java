@@ -5,6 +5,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.time.LocalDateTime;
@@ -53,12 +56,12 @@ public class ItemRequestControllerUnitTests {
         long userId = 1L;
         List<ItemRequestDto> expected = List.of(ItemRequestDto.builder().build());
 
-        when(service.findItemsOfUser(userId)).thenReturn(expected);
+        when(service.findItemsOfUser(userId, 0, 20)).thenReturn(expected);
 
-        List<ItemRequestDto> result = controller.findAll(userId);
+        List<ItemRequestDto> result = controller.findAll(0, 20, userId);
 
         assertEquals(expected, result);
-        verify(service).findItemsOfUser(userId);
+        verify(service).findItemsOfUser(userId, 0, 20);
     }
 
     @Test
@@ -67,12 +70,12 @@ public class ItemRequestControllerUnitTests {
         long userId = 1L;
         List<ItemRequestDto> expected = List.of(ItemRequestDto.builder().build());
 
-        when(service.findItemsNotUser(userId)).thenReturn(expected);
+        when(service.findItemsNotUser(userId, null, 20)).thenReturn(Window.from(expected, ScrollPosition::offset));
 
-        List<ItemRequestDto> result = controller.findAllNotUser(userId);
+        ResponseEntity<List<ItemRequestDto>> result = controller.findAllNotUser(null, 20, userId);
 
-        assertEquals(expected, result);
-        verify(service).findItemsNotUser(userId);
+        assertEquals(expected, result.getBody());
+        verify(service).findItemsNotUser(userId, null, 20);
     }
 
     @Test
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.BenchmarkRunner;
+import ru.practicum.shareit.ServerBenchmark;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * GET /requests и GET /requests/all при растущей таблице items: прежние findItemsOfUser и findItemsNotUser
+ * загружали все вещи не владельца через findAllByOwnerIdNotEquals и группировали их в Java, нынешние читают
+ * страницу запросов и вещи только для неё. Прежняя реализация воспроизведена здесь эквивалентным JPQL.
+ */
+@ServerBenchmark
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class ItemRequestListingBenchmark {
+
+    private static final int USERS = 100;
+    private static final int REQUESTS = 2_000;
+    private static final int[] ITEM_COUNTS = {10_000, 50_000, 200_000};
+    // Каждая десятая вещь добавлена в ответ на запрос
+    private static final int ANSWER_EVERY = 10;
+    private static final int PAGE_SIZE = 20;
+    private static final int LEGACY_WARMUP = 5;
+    private static final int LEGACY_ITERATIONS = 20;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ItemRequestService itemRequestService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Random random = new Random(42);
+    private TransactionTemplate readOnly;
+    private List<Long> userIds;
+    private List<Long> requestIds;
+    private long userId;
+    private int items;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"User " + i, "bench-user-" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'bench-user-%' ORDER BY id", Long.class);
+        userId = userIds.getFirst();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(new Object[]{"Нужна вещь " + i, userIds.get(i % USERS),
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60)))});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO requests (description, requestor_id, created_timestamp) VALUES (?, ?, ?)", requests);
+        requestIds = jdbcTemplate.queryForList("SELECT id FROM requests ORDER BY id", Long.class);
+    }
+
+    @Test
+    void latencyAsItemsTableGrows() {
+        for (int target : ITEM_COUNTS) {
+            growItemsTo(target);
+
+            assertEquals(REQUESTS / USERS, legacyOfUser().size());
+            assertEquals(PAGE_SIZE, itemRequestService.findItemsNotUser(userId, null, PAGE_SIZE).getContent().size());
+
+            BenchmarkRunner.measure(target + " вещей, свои: все вещи и группировка", LEGACY_WARMUP, LEGACY_ITERATIONS,
+                    this::legacyOfUser);
+            BenchmarkRunner.measure(target + " вещей, свои: страница", WARMUP, ITERATIONS,
+                    () -> itemRequestService.findItemsOfUser(userId, 0, PAGE_SIZE));
+            BenchmarkRunner.measure(target + " вещей, чужие: все вещи и группировка", LEGACY_WARMUP, LEGACY_ITERATIONS,
+                    this::legacyNotUser);
+            BenchmarkRunner.measure(target + " вещей, чужие: страница", WARMUP, ITERATIONS,
+                    () -> itemRequestService.findItemsNotUser(userId, null, PAGE_SIZE));
+        }
+    }
+
+    private void growItemsTo(int target) {
+        List<Object[]> batch = new ArrayList<>();
+        for (; items < target; items++) {
+            Long requestId = items % ANSWER_EVERY == 0 ? requestIds.get(random.nextInt(REQUESTS)) : null;
+            batch.add(new Object[]{"Вещь " + items, "Описание", userIds.get(random.nextInt(USERS)), requestId});
+            if (batch.size() == 10_000) {
+                insertItems(batch);
+            }
+        }
+        insertItems(batch);
+    }
+
+    private void insertItems(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO items (name, description, available, owner_id, request_id) VALUES (?, ?, true, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private List<ItemRequestDto> legacyOfUser() {
+        return readOnly.execute(status -> {
+            List<ItemRequest> itemRequests = entityManager.createQuery(
+                            "SELECT itr FROM ItemRequest itr JOIN FETCH itr.requestor WHERE itr.requestor.id = :user",
+                            ItemRequest.class)
+                    .setParameter("user", userId)
+                    .getResultList();
+            Map<Long, List<ItemDto>> itemsByRequest = ItemMapper.mapToDto(allItemsNotOwnedBy(userId)).stream()
+                    .filter(item -> item.getRequestId() != null)
+                    .collect(Collectors.groupingBy(ItemDto::getRequestId));
+            return ItemRequestMapper.mapToDto(itemRequests, itemsByRequest);
+        });
+    }
+
+    private List<ItemRequestDto> legacyNotUser() {
+        return readOnly.execute(status -> {
+            List<ItemRequest> itemRequests = entityManager.createQuery(
+                            "SELECT itr FROM ItemRequest itr JOIN FETCH itr.requestor WHERE itr.requestor.id != :user",
+                            ItemRequest.class)
+                    .setParameter("user", userId)
+                    .getResultList();
+            Map<Long, List<ItemDto>> itemsByRequest = ItemMapper.mapToDto(allItemsNotOwnedBy(userId)).stream()
+                    .filter(item -> item.getRequestId() != null)
+                    .collect(Collectors.groupingBy(ItemDto::getRequestId));
+            return ItemRequestMapper.mapToDto(itemRequests, itemsByRequest);
+        });
+    }
+
+    private List<Item> allItemsNotOwnedBy(long ownerId) {
+        return entityManager.createQuery("SELECT it FROM Item it WHERE it.owner.id != :owner", Item.class)
+                .setParameter("owner", ownerId)
+                .getResultList();
+    }
+}
@@ -70,7 +70,7 @@ public class ItemRequestMapperTests {
                 .created(LocalDateTime.now())
                 .build();
 
-        Map<Long, ItemRequest> requests = Map.of(1L, request);
+        List<ItemRequest> requests = List.of(request);
         Map<Long, List<ItemDto>> items = Map.of(1L, List.of(ItemDto.builder().build()));
 
         List<ItemRequestDto> result = ItemRequestMapper.mapToDto(requests, items);
@@ -85,7 +85,7 @@ public class ItemRequestMapperTests {
 
     @Test
     void mapToDtoWithEmptyMapsShouldReturnEmptyList() {
-        List<ItemRequestDto> result = ItemRequestMapper.mapToDto(Map.of(), Map.of());
+        List<ItemRequestDto> result = ItemRequestMapper.mapToDto(List.of(), Map.of());
         assertTrue(result.isEmpty());
     }
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+public class ItemRequestMatcherConfigTests {
+
+    @Test
+    public void fullExecutorShouldQueueAndThenDropTasksWithoutBlockingCaller() throws InterruptedException {
+
+        ThreadPoolTaskExecutor executor = new ItemRequestMatcherConfig().itemRequestMatcherExecutor(2, 3);
+        executor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                    completed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        release.countDown();
+        executor.getThreadPoolExecutor().shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+
+        assertThat(submitMillis, lessThan(1000L));
+        // Два задания в работе и три в очереди, остальные отброшены
+        assertThat(completed.get(), equalTo(5));
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemRequestMatcherTests {
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemRequestSuggestionRepository suggestionRepository;
+
+    @InjectMocks
+    private ItemRequestMatcher matcher;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onItemRequestCreatedShouldStoreRankedCandidatesOfOtherOwners() {
+
+        when(itemSearchEngine.match(eq("Нужна дрель"), anyInt())).thenReturn(List.of(
+                item(1L, 7L), item(2L, 3L), item(3L, 8L)));
+
+        matcher.onItemRequestCreated(new ItemRequestCreatedEvent(10L, 3L, "Нужна дрель"));
+
+        ArgumentCaptor<List<ItemRequestSuggestion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(suggestionRepository).deleteByRequestId(10L);
+        verify(suggestionRepository).saveAll(captor.capture());
+        List<ItemRequestSuggestion> saved = captor.getValue();
+        assertEquals(List.of(1L, 3L), saved.stream().map(ItemRequestSuggestion::getItemId).toList());
+        assertEquals(List.of(0, 1), saved.stream().map(ItemRequestSuggestion::getRank).toList());
+        assertEquals(10L, saved.getFirst().getRequestId());
+    }
+
+    private static ItemDto item(long id, long ownerId) {
+        return ItemDto.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Описание")
+                .available(true)
+                .ownerId(ownerId)
+                .build();
+    }
+}
@@ -5,16 +5,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Window;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.web.TimestampCursor;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 
@@ -27,6 +36,7 @@ public class ItemRequestServiceIntegrationTests {
 
     private final ItemRequestService service;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
 
     private ItemRequestDto itemRequestDto;
     private User userBase;
@@ -74,4 +84,79 @@ public class ItemRequestServiceIntegrationTests {
         assertThat(itemRequestDto1.getCreated(), equalTo(itemRequestDtoSave.getCreated()));
         assertThat(itemRequestDto1.getRequestor(), equalTo(itemRequestDtoSave.getRequestor()));
     }
+
+    @Test
+    public void testFindItemsOfUserShouldPageNewestFirstWithItems() {
+
+        User user = userRepository.save(userBase);
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@mail.ru").build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ItemRequestDto oldest = saveRequest(user, "Oldest", now.minusDays(2));
+        ItemRequestDto middle = saveRequest(user, "Middle", now.minusDays(1));
+        ItemRequestDto newest = saveRequest(user, "Newest", now);
+        Item item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .owner(owner)
+                .requestId(middle.getId())
+                .build());
+
+        List<ItemRequestDto> firstPage = service.findItemsOfUser(user.getId(), 0, 2);
+        List<ItemRequestDto> secondPage = service.findItemsOfUser(user.getId(), 2, 2);
+
+        assertThat(firstPage.stream().map(ItemRequestDto::getId).toList(), contains(newest.getId(), middle.getId()));
+        assertThat(firstPage.get(0).getItems(), empty());
+        assertThat(firstPage.get(1).getItems().getFirst().getId(), equalTo(item.getId()));
+        assertThat(secondPage.stream().map(ItemRequestDto::getId).toList(), contains(oldest.getId()));
+        assertThat(service.findItemsNotUser(owner.getId(), null, 1).getContent().stream().map(ItemRequestDto::getId).toList(),
+                contains(newest.getId()));
+    }
+
+    @Test
+    public void testFindItemsOfUserShouldStartAtAnyOffset() {
+
+        User user = userRepository.save(userBase);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Long> newestFirst = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            newestFirst.addFirst(saveRequest(user, "Request " + i, now.plusMinutes(i)).getId());
+        }
+
+        assertThat(service.findItemsOfUser(user.getId(), 1, 2).stream().map(ItemRequestDto::getId).toList(),
+                equalTo(newestFirst.subList(1, 3)));
+        assertThat(service.findItemsOfUser(user.getId(), 3, 10).stream().map(ItemRequestDto::getId).toList(),
+                equalTo(newestFirst.subList(3, 5)));
+        assertThat(service.findItemsOfUser(user.getId(), 5, 2), empty());
+    }
+
+    @Test
+    public void testFindItemsNotUserShouldWalkFeedWithCursor() {
+
+        User requestor = userRepository.save(userBase);
+        User viewer = userRepository.save(User.builder().name("Viewer").email("viewer@mail.ru").build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ItemRequestDto first = saveRequest(requestor, "First", now.minusHours(1));
+        ItemRequestDto second = saveRequest(requestor, "Second", now);
+        ItemRequestDto third = saveRequest(requestor, "Third", now);
+        saveRequest(viewer, "Own", now.plusHours(1));
+
+        Window<ItemRequestDto> firstPage = service.findItemsNotUser(viewer.getId(), null, 2);
+        ItemRequestDto last = firstPage.getContent().getLast();
+        TimestampCursor cursor = new TimestampCursor(last.getCreated(), last.getId());
+        Window<ItemRequestDto> secondPage = service.findItemsNotUser(viewer.getId(), cursor, 2);
+
+        assertThat(firstPage.getContent().stream().map(ItemRequestDto::getId).toList(), contains(third.getId(), second.getId()));
+        assertThat(firstPage.hasNext(), equalTo(true));
+        assertThat(secondPage.getContent().stream().map(ItemRequestDto::getId).toList(), contains(first.getId()));
+        assertThat(secondPage.hasNext(), equalTo(false));
+    }
+
+    private ItemRequestDto saveRequest(User user, String description, LocalDateTime created) {
+        return service.save(ItemRequestDto.builder()
+                .description(description)
+                .created(created)
+                .requestor(user.getId())
+                .build());
+    }
 }
@@ -5,18 +5,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +45,12 @@ public class ItemRequestServiceUnitTests {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemRequestSuggestionRepository suggestionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -55,16 +73,14 @@ public class ItemRequestServiceUnitTests {
     void findItemsOfUserShouldReturnEmptyListWhenNoRequestsFound() {
         long userId = 1L;
 
-        when(itemRequestRepository.findByRequestor_Id(userId))
-                .thenReturn(Collections.emptyList());
-        when(itemRepository.findAllByOwnerIdNotEquals(userId))
-                .thenReturn(Collections.emptyList());
+        when(itemRequestRepository.findByRequestor_Id(eq(userId), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(20))))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
 
-        List<ItemRequestDto> result = itemRequestService.findItemsOfUser(userId);
+        List<ItemRequestDto> result = itemRequestService.findItemsOfUser(userId, 0, 20);
 
         assertTrue(result.isEmpty());
-        verify(itemRequestRepository).findByRequestor_Id(userId);
-        verify(itemRepository).findAllByOwnerIdNotEquals(userId);
+        verify(itemRequestRepository).findByRequestor_Id(eq(userId), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(20)));
+        verify(itemRepository, never()).findAllByRequestIdIn(anyCollection());
     }
 
     @Test
@@ -87,12 +103,12 @@ public class ItemRequestServiceUnitTests {
         List<Item> items = new ArrayList<>();
         items.add(item);
 
-        when(itemRequestRepository.findByRequestor_Id(userId))
-                .thenReturn(requests);
-        when(itemRepository.findAllByOwnerIdNotEquals(userId))
+        when(itemRequestRepository.findByRequestor_Id(eq(userId), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(20))))
+                .thenReturn(Window.from(requests, ScrollPosition::offset));
+        when(itemRepository.findAllByRequestIdIn(List.of(requestId)))
                 .thenReturn(items);
 
-        List<ItemRequestDto> result = itemRequestService.findItemsOfUser(userId);
+        List<ItemRequestDto> result = itemRequestService.findItemsOfUser(userId, 0, 20);
 
         assertEquals(1, result.size());
         assertEquals(requestId, result.getFirst().getId());
@@ -101,52 +117,44 @@ public class ItemRequestServiceUnitTests {
     }
 
     @Test
-    void findItemsOfUserShouldFilterItemsWithNullRequestId() {
+    void findItemsOfUserShouldFetchItemsOnlyForRequestsOnPage() {
         long userId = 1L;
-        long requestId = 1L;
 
         User user = new User(userId, "user", "user@email.com");
 
-        ItemRequest request = new ItemRequest();
-        request.setId(requestId);
-        request.setRequestor(user);
-
-        Item itemWithRequest = createTestItem(1L, "item1", "description1", true, 2L, requestId);
-        Item itemWithoutRequest = createTestItem(2L, "item2", "description2", true, 2L, null);
+        ItemRequest newer = new ItemRequest();
+        newer.setId(2L);
+        newer.setRequestor(user);
+        ItemRequest older = new ItemRequest();
+        older.setId(1L);
+        older.setRequestor(user);
 
-        List<ItemRequest> requests = new ArrayList<>();
-        requests.add(request);
+        Item itemForOlder = createTestItem(1L, "item1", "description1", true, 2L, 1L);
 
-        List<Item> allItems = new ArrayList<>();
-        allItems.add(itemWithRequest);
-        allItems.add(itemWithoutRequest);
-
-        when(itemRequestRepository.findByRequestor_Id(userId))
-                .thenReturn(requests);
-        when(itemRepository.findAllByOwnerIdNotEquals(userId))
-                .thenReturn(allItems);
+        when(itemRequestRepository.findByRequestor_Id(eq(userId), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(20))))
+                .thenReturn(Window.from(List.of(newer, older), ScrollPosition::offset));
+        when(itemRepository.findAllByRequestIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(itemForOlder));
 
-        List<ItemRequestDto> result = itemRequestService.findItemsOfUser(userId);
+        List<ItemRequestDto> result = itemRequestService.findItemsOfUser(userId, 0, 20);
 
-        assertEquals(1, result.size());
-        assertEquals(1, result.get(0).getItems().size());
-        assertEquals(itemWithRequest.getId(), result.get(0).getItems().get(0).getId());
+        assertEquals(List.of(2L, 1L), result.stream().map(ItemRequestDto::getId).toList());
+        assertTrue(result.get(0).getItems().isEmpty());
+        assertEquals(itemForOlder.getId(), result.get(1).getItems().get(0).getId());
     }
 
     @Test
     void findItemsNotUserShouldReturnEmptyListWhenNoRequestsFound() {
         long userId = 1L;
 
-        when(itemRequestRepository.findByRequestorIdNotEqual(userId))
-                .thenReturn(Collections.emptyList());
-        when(itemRepository.findAllByOwnerIdNotEquals(userId))
+        when(itemRequestRepository.findByRequestorIdNotEqual(eq(userId), any(Limit.class)))
                 .thenReturn(Collections.emptyList());
 
-        List<ItemRequestDto> result = itemRequestService.findItemsNotUser(userId);
+        List<ItemRequestDto> result = itemRequestService.findItemsNotUser(userId, null, 20).getContent();
 
         assertTrue(result.isEmpty());
-        verify(itemRequestRepository).findByRequestorIdNotEqual(userId);
-        verify(itemRepository).findAllByOwnerIdNotEquals(userId);
+        verify(itemRequestRepository).findByRequestorIdNotEqual(eq(userId), any(Limit.class));
+        verify(itemRepository, never()).findAllByRequestIdIn(anyCollection());
     }
 
     @Test
@@ -169,12 +177,12 @@ public class ItemRequestServiceUnitTests {
         List<Item> items = new ArrayList<>();
         items.add(item);
 
-        when(itemRequestRepository.findByRequestorIdNotEqual(userId))
+        when(itemRequestRepository.findByRequestorIdNotEqual(eq(userId), any(Limit.class)))
                 .thenReturn(requests);
-        when(itemRepository.findAllByOwnerIdNotEquals(userId))
+        when(itemRepository.findAllByRequestIdIn(List.of(requestId)))
                 .thenReturn(items);
 
-        List<ItemRequestDto> result = itemRequestService.findItemsNotUser(userId);
+        List<ItemRequestDto> result = itemRequestService.findItemsNotUser(userId, null, 20).getContent();
 
         assertEquals(1, result.size());
         assertEquals(requestId, result.get(0).getId());
@@ -197,14 +205,54 @@ public class ItemRequestServiceUnitTests {
         List<ItemRequest> requests = new ArrayList<>();
         requests.add(request);
 
-        when(itemRequestRepository.findByRequestorIdNotEqual(userId))
+        when(itemRequestRepository.findByRequestorIdNotEqual(eq(userId), any(Limit.class)))
                 .thenReturn(requests);
-        when(itemRepository.findAllByOwnerIdNotEquals(userId))
-                .thenReturn(Collections.emptyList());
 
-        List<ItemRequestDto> result = itemRequestService.findItemsNotUser(userId);
+        List<ItemRequestDto> result = itemRequestService.findItemsNotUser(userId, null, 20).getContent();
 
         assertEquals(1, result.size());
         assertEquals(requestId, result.get(0).getId());
     }
+
+    @Test
+    void saveShouldPublishCreatedEventForMatching() {
+        long userId = 1L;
+        User user = new User(userId, "user", "user@email.com");
+        ItemRequestDto itemRequestDto = ItemRequestDto.builder()
+                .description("Нужна дрель")
+                .requestor(userId)
+                .created(LocalDateTime.now())
+                .build();
+
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(user));
+        when(itemRequestRepository.save(any(ItemRequest.class))).thenAnswer(invocation -> {
+            ItemRequest itemRequest = invocation.getArgument(0);
+            itemRequest.setId(10L);
+            return itemRequest;
+        });
+
+        itemRequestService.save(itemRequestDto);
+
+        verify(eventPublisher).publishEvent(new ItemRequestCreatedEvent(10L, userId, "Нужна дрель"));
+    }
+
+    @Test
+    void findItemRequestByIdShouldReturnPrecomputedSuggestions() {
+        long requestId = 1L;
+        ItemRequest request = ItemRequest.builder()
+                .id(requestId)
+                .description("Нужна дрель")
+                .requestor(new User(1L, "user", "user@email.com"))
+                .build();
+        Item suggested = createTestItem(5L, "Дрель", "Ударная", true, 2L, null);
+
+        when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+        when(itemRepository.findAllByRequestId(requestId)).thenReturn(List.of());
+        when(suggestionRepository.findSuggestedItems(requestId)).thenReturn(List.of(suggested));
+
+        ItemRequestDto result = itemRequestService.findItemRequestById(requestId);
+
+        assertTrue(result.getItems().isEmpty());
+        assertEquals(List.of(5L), result.getSuggestions().stream().map(ItemDto::getId).toList());
+    }
 }
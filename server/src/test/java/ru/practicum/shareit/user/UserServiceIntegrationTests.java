@@ -9,6 +9,8 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
@@ -53,4 +55,15 @@ public class UserServiceIntegrationTests {
         assertThat(userDtoNew.getName(), equalTo(userDto.getName()));
         assertThat(userDtoNew.getEmail(), equalTo(userDto.getEmail()));
     }
+
+    @Test
+    public void testFindAllByIdShouldKeepRequestedOrderAndSkipMissing() {
+
+        UserDto first = userService.create(userDto);
+        UserDto second = userService.create(UserDto.builder().name("Second").email("second@mail.ru").build());
+
+        List<UserDto> users = userService.findAllById(List.of(second.getId(), Long.MAX_VALUE, first.getId(), second.getId()));
+
+        assertThat(users.stream().map(UserDto::getId).toList(), equalTo(List.of(second.getId(), first.getId())));
+    }
 }